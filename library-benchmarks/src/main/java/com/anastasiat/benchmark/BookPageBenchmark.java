@@ -0,0 +1,77 @@
+package com.anastasiat.benchmark;
+
+import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same page of the catalog fetched by offset, by offset without a count and by keyset cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookPageBenchmark {
+
+    @Param({"500000"})
+    private int catalogSize;
+
+    @Param({"0", "100", "4000"})
+    private int page;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = LibraryServiceContext.start(Map.of());
+        LibraryServiceContext.seed(context, 1000, 10, catalogSize);
+        bookService = context.getBean(BookService.class);
+        cursor = page == 0 ? "" : PageCursor.encode(page * size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookPage offsetPage() {
+        return bookService.findAllBooks(page, size, TotalMode.EXACT);
+    }
+
+    @Benchmark
+    public BookPage offsetSlice() {
+        return bookService.findAllBooks(page, size, TotalMode.NONE);
+    }
+
+    @Benchmark
+    public BookSummaryCursorPage keysetPage() {
+        return bookService.findAllBooks(cursor, size);
+    }
+}
@@ -0,0 +1,61 @@
+package com.anastasiat.benchmark;
+
+import com.anastasiat.author.entity.Author;
+import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.reader.entity.Reader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of books, configured like the ObjectMapper Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookPageSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private BookPage bookPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Book> books = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Author author = new Author(i % 50, "Имя", "Автор " + i % 50, null, LocalDate.of(1900, 1, 1));
+            boolean borrowed = i % 2 == 0;
+            Reader reader = borrowed ? new Reader(i, "Имя", "Читатель " + i, null, "reader" + i + "@library.test") : null;
+            books.add(new Book(i, author, "Книга " + i, borrowed, borrowed ? LocalDate.of(2024, 1, 1) : null, reader, 0L));
+        }
+        bookPage = new BookPage(books, 500_000L, 500_000 / size, false);
+    }
+
+    @Benchmark
+    public byte[] writeBookPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+}
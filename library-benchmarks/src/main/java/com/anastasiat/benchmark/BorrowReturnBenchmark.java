@@ -0,0 +1,91 @@
+package com.anastasiat.benchmark;
+
+import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.library.service.LibraryService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One borrow followed by one return of a random book out of {@code hotBooks}: with fewer hot books than
+ * threads, borrows collide and show up in the {@code conflicts} counter instead of {@code completed}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class BorrowReturnBenchmark {
+
+    private static final int READERS = 256;
+
+    @Param({"CONDITIONAL_UPDATE", "LOCKING"})
+    private String borrowMode;
+
+    @Param({"1", "8", "1024"})
+    private int hotBooks;
+
+    private final AtomicInteger nextReaderId = new AtomicInteger();
+    private ConfigurableApplicationContext context;
+    private LibraryService libraryService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long completed;
+        public long conflicts;
+
+        private int readerId;
+
+        @Setup(Level.Trial)
+        public void assignReader(BorrowReturnBenchmark benchmark) {
+            readerId = 1 + benchmark.nextReaderId.getAndIncrement() % READERS;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = LibraryServiceContext.start(Map.of("config.borrow-mode", borrowMode));
+        LibraryServiceContext.seed(context, 10, READERS, hotBooks);
+        libraryService = context.getBean(LibraryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturn(Outcomes outcomes) {
+        int bookId = 1 + ThreadLocalRandom.current().nextInt(hotBooks);
+        try {
+            libraryService.borrowBook(outcomes.readerId, bookId);
+        } catch (UnavailableOperationException exception) {
+            outcomes.conflicts++;
+            return;
+        }
+        libraryService.returnBook(outcomes.readerId, bookId);
+        outcomes.completed++;
+    }
+}
@@ -0,0 +1,86 @@
+package com.anastasiat.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prints a side by side comparison of two JMH JSON result files ({@code -rf json}).
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.anastasiat.benchmark.CompareResults baseline.json candidate.json}.
+ * A change is marked {@code ~} when the 99.9% confidence intervals of both runs overlap.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = read(objectMapper, new File(args[0]));
+        Map<String, JsonNode> candidate = read(objectMapper, new File(args[1]));
+
+        System.out.printf("%-90s %22s %22s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : baseline.entrySet()) {
+            JsonNode before = entry.getValue().get("primaryMetric");
+            JsonNode after = candidate.containsKey(entry.getKey())
+                    ? candidate.get(entry.getKey()).get("primaryMetric")
+                    : null;
+            if (after == null) {
+                System.out.printf("%-90s %22s %22s %9s%n", entry.getKey(), format(before), "-", "");
+                continue;
+            }
+            double beforeScore = before.get("score").asDouble();
+            double afterScore = after.get("score").asDouble();
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) / beforeScore * 100;
+            boolean overlaps = Math.abs(afterScore - beforeScore)
+                    <= error(before) + error(after);
+            System.out.printf("%-90s %22s %22s %+8.1f%%%s%n",
+                    entry.getKey(), format(before), format(after), change, overlaps ? " ~" : "");
+        }
+    }
+
+    private static Map<String, JsonNode> read(ObjectMapper objectMapper, File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : objectMapper.readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.get("benchmark").asText()
+                .replace("com.anastasiat.benchmark.", ""));
+        JsonNode params = result.get("params");
+        if (params != null) {
+            Map<String, String> sorted = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                sorted.put(field.getKey(), field.getValue().asText());
+            }
+            sorted.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        }
+        key.append(" [").append(result.get("mode").asText()).append(']');
+        return key.toString();
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(JsonNode metric) {
+        return "%.2f +- %.2f %s".formatted(metric.get("score").asDouble(), error(metric), metric.get("scoreUnit").asText());
+    }
+}
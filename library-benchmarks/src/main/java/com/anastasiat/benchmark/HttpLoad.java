@@ -0,0 +1,102 @@
+package com.anastasiat.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load: {@code concurrency} clients each send the next request as soon as the previous one
+ * completes, for {@code seconds} seconds. Prints throughput and latency percentiles.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.anastasiat.benchmark.HttpLoad <url> <concurrency> <seconds>}.
+ */
+public final class HttpLoad {
+
+    private HttpLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: HttpLoad <url> <concurrency> <seconds>");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(clients)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+            long deadline = System.nanoTime() + duration.toNanos();
+
+            List<Future<long[]>> results = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                results.add(clients.submit(() -> run(httpClient, request, deadline)));
+            }
+
+            List<Long> latencies = new ArrayList<>();
+            long errors = 0;
+            for (Future<long[]> result : results) {
+                long[] clientResult = result.get();
+                errors += clientResult[0];
+                for (int i = 1; i < clientResult.length; i++) {
+                    latencies.add(clientResult[i]);
+                }
+            }
+            report(latencies, errors, duration);
+        }
+    }
+
+    private static long[] run(HttpClient httpClient, HttpRequest request, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 1;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors++;
+                    continue;
+                }
+            } catch (Exception exception) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - startedAt;
+        }
+        latencies[0] = errors;
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static void report(List<Long> latencies, long errors, Duration duration) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n",
+                sorted.length, errors, sorted.length / (double) duration.toSeconds());
+        if (sorted.length == 0) {
+            return;
+        }
+        System.out.printf("latency ms: p50 %.1f, p95 %.1f, p99 %.1f, max %.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
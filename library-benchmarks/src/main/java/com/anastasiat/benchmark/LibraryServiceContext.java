@@ -0,0 +1,91 @@
+package com.anastasiat.benchmark;
+
+import com.anastasiat.LibraryServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts library-service without the web layer against the benchmark database: the one given by
+ * {@code -Dbenchmark.jdbc-url} (with {@code benchmark.username}/{@code benchmark.password}) or, by default,
+ * a throwaway PostgreSQL container shared by every trial of the fork.
+ */
+final class LibraryServiceContext {
+
+    private static PostgreSQLContainer<?> container;
+
+    private LibraryServiceContext() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> properties) {
+        Map<String, Object> defaults = new HashMap<>(properties);
+        defaults.putAll(datasourceProperties());
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.level.root", "warn");
+        return new SpringApplicationBuilder(LibraryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaults)
+                .run();
+    }
+
+    /**
+     * Recreates the catalog with contiguous ids {@code 1..n}, so benchmarks can address rows by id.
+     */
+    static void seed(ConfigurableApplicationContext context, int authors, int readers, int books) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer existingBooks = jdbcTemplate.queryForObject("select count(*) from library.book", Integer.class);
+        Integer existingReaders = jdbcTemplate.queryForObject("select count(*) from library.reader", Integer.class);
+        if (existingBooks != null && existingBooks == books && existingReaders != null && existingReaders == readers) {
+            jdbcTemplate.update("update library.book set is_borrowed = false, borrow_date = null, reader_id = null where is_borrowed");
+            return;
+        }
+        jdbcTemplate.execute("truncate library.book, library.author, library.reader restart identity cascade");
+        jdbcTemplate.update("""
+                insert into library.author (id, first_name, last_name, birth_date)
+                select g, 'Имя ' || g, 'Автор ' || g, date '1900-01-01' + g
+                from generate_series(1, ?) g
+                """, authors);
+        jdbcTemplate.update("""
+                insert into library.reader (id, first_name, last_name, email)
+                select g, 'Имя ' || g, 'Читатель ' || g, 'reader' || g || '@library.test'
+                from generate_series(1, ?) g
+                """, readers);
+        jdbcTemplate.update("""
+                insert into library.book (id, author_id, title, is_borrowed)
+                select g, 1 + g % ?, 'Книга ' || g, false
+                from generate_series(1, ?) g
+                """, authors, books);
+        jdbcTemplate.execute("select setval('library.author_id_seq', (select max(id) from library.author))");
+        jdbcTemplate.execute("select setval('library.reader_id_seq', (select max(id) from library.reader))");
+        jdbcTemplate.execute("select setval('library.book_id_seq', (select max(id) from library.book))");
+        jdbcTemplate.execute("analyze library.author, library.reader, library.book");
+    }
+
+    private static Map<String, Object> datasourceProperties() {
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        if (jdbcUrl != null) {
+            return Map.of(
+                    "spring.datasource.url", jdbcUrl,
+                    "spring.datasource.username", System.getProperty("benchmark.username", "library"),
+                    "spring.datasource.password", System.getProperty("benchmark.password", "library")
+            );
+        }
+        synchronized (LibraryServiceContext.class) {
+            if (container == null) {
+                container = new PostgreSQLContainer<>("postgres:16-alpine");
+                container.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(container::stop));
+            }
+        }
+        return Map.of(
+                "spring.datasource.url", container.getJdbcUrl(),
+                "spring.datasource.username", container.getUsername(),
+                "spring.datasource.password", container.getPassword()
+        );
+    }
+}
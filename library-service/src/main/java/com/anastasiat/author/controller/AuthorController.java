@@ -2,15 +2,23 @@ package com.anastasiat.author.controller;
 
 import com.anastasiat.author.controller.request.CreateAuthorRequest;
 import com.anastasiat.author.entity.Author;
+import com.anastasiat.author.entity.AuthorCursorPage;
 import com.anastasiat.author.entity.AuthorPage;
 import com.anastasiat.author.service.AuthorService;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.version.service.TableVersionService;
 import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.pagination.PageSize;
+import com.anastasiat.pagination.TotalMode;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Map;
@@ -21,6 +29,8 @@ import java.util.Map;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final BookService bookService;
+    private final TableVersionService tableVersionService;
 
     @GetMapping("/{authorId}")
     public Author findAuthorById(@PathVariable("authorId") Integer authorId) {
@@ -28,17 +38,55 @@ public class AuthorController {
                 .orElseThrow(() -> new NotExistsException("library.errors.author.not_found"));
     }
 
+    @GetMapping("/{authorId}/books")
+    public BookSummaryCursorPage findAuthorBooks(
+            @PathVariable("authorId") Integer authorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (webRequest.checkNotModified("v" + tableVersionService.findVersion(
+                TableVersionService.BOOK, TableVersionService.AUTHOR, TableVersionService.READER))) {
+            return null;
+        }
+        if (authorService.findAuthorById(authorId).isEmpty()) {
+            throw new NotExistsException("library.errors.author.not_found");
+        }
+        return bookService.findBooksByAuthorId(authorId, after, size);
+    }
+
     @GetMapping("all")
-    public Iterable<Author> findAllAuthors() {
+    public Iterable<Author> findAllAuthors(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         return authorService.findAllAuthors();
     }
 
     @GetMapping
     public AuthorPage findAuthors(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "{library.errors.page.number_invalid}") int page,
+            @RequestParam(defaultValue = "10") @PageSize int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            WebRequest webRequest
     ) {
-        return authorService.findAllAuthors(page, size);
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return authorService.findAllAuthors(page, size, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping(params = "after")
+    public AuthorCursorPage findAuthorsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return authorService.findAllAuthors(after, size);
     }
 
     @PostMapping
@@ -74,4 +122,8 @@ public class AuthorController {
         return ResponseEntity.noContent()
                 .build();
     }
+
+    private boolean isNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified("v" + tableVersionService.findVersion(TableVersionService.AUTHOR));
+    }
 }
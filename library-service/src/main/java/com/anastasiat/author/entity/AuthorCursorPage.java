@@ -0,0 +1,13 @@
+package com.anastasiat.author.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AuthorCursorPage {
+    private List<Author> content;
+    private String nextCursor;
+}
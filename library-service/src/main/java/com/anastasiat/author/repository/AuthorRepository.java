@@ -1,12 +1,20 @@
 package com.anastasiat.author.repository;
 
 import com.anastasiat.author.entity.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,10 +22,26 @@ public interface AuthorRepository extends CrudRepository<Author, Integer> {
 
     Page<Author> findAll(Pageable pageable);
 
-    Optional<Author> findByFirstNameAndLastNameAndMiddleNameAndBirthDate(
-            String firstName,
-            String lastName,
-            String middleName,
-            LocalDate birthDate
+    Slice<Author> findAllBy(Pageable pageable);
+
+    List<Author> findByIdGreaterThanOrderById(Integer id, Limit limit);
+
+    /**
+     * Inserts the author unless {@code idx_author_natural_key} already holds one with the same name and birth
+     * date; returns the new id, or nothing for a duplicate. A concurrent insert of the same author is waited
+     * for instead of failing on the index.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.author"))
+    @Query(value = """
+            insert into library.author (first_name, last_name, middle_name, birth_date)
+            values (:firstName, :lastName, cast(:middleName as varchar), :birthDate)
+            on conflict (last_name, first_name, middle_name, birth_date) do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Integer> insertIfAbsent(
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("middleName") String middleName,
+            @Param("birthDate") LocalDate birthDate
     );
 }
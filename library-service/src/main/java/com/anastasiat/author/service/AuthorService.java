@@ -1,7 +1,9 @@
 package com.anastasiat.author.service;
 
 import com.anastasiat.author.entity.Author;
+import com.anastasiat.author.entity.AuthorCursorPage;
 import com.anastasiat.author.entity.AuthorPage;
+import com.anastasiat.pagination.TotalMode;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -12,7 +14,9 @@ public interface AuthorService {
 
     Iterable<Author> findAllAuthors();
 
-    AuthorPage findAllAuthors(int page, int size);
+    AuthorPage findAllAuthors(int page, int size, TotalMode totalMode);
+
+    AuthorCursorPage findAllAuthors(String after, int size);
 
     Author createAuthor(String firstName, String lastName, String middleName, LocalDate birthDate);
 
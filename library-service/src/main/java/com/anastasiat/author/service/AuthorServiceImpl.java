@@ -1,20 +1,34 @@
 package com.anastasiat.author.service;
 
 import com.anastasiat.author.entity.Author;
+import com.anastasiat.author.entity.AuthorCursorPage;
 import com.anastasiat.author.entity.AuthorPage;
 import com.anastasiat.author.repository.AuthorRepository;
 import com.anastasiat.book.service.BookService;
+import com.anastasiat.config.CacheConfig;
 import com.anastasiat.exception.AlreadyExistsException;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.service.OutboxService;
+import com.anastasiat.pagination.OffsetPage;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
+import com.anastasiat.statistics.service.TableStatisticsService;
+import com.anastasiat.version.service.TableVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -24,53 +38,66 @@ public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
     private final BookService bookService;
+    private final OutboxService outboxService;
+    private final TableStatisticsService tableStatisticsService;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, unless = "#result == null")
     public Optional<Author> findAuthorById(Integer authorId) {
         return authorRepository.findById(authorId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Iterable<Author> findAllAuthors() {
         return authorRepository.findAll();
     }
 
     @Override
-    public AuthorPage findAllAuthors(int page, int size) {
-        Page<Author> authorPage = authorRepository.findAll(PageRequest.of(page, size));
+    @Transactional(readOnly = true)
+    public AuthorPage findAllAuthors(int page, int size, TotalMode totalMode) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        OffsetPage<Author> authorPage = switch (totalMode) {
+            case EXACT -> OffsetPage.exact(authorRepository.findAll(pageRequest));
+            case APPROXIMATE -> OffsetPage.approximate(authorRepository.findAllBy(pageRequest),
+                    tableStatisticsService.estimateRows(TableVersionService.AUTHOR));
+            case NONE -> OffsetPage.withoutTotal(authorRepository.findAllBy(pageRequest));
+        };
         return new AuthorPage(
-                authorPage.getContent(),
-                authorPage.getTotalElements(),
-                authorPage.getTotalPages(),
-                authorPage.isLast()
+                authorPage.content(),
+                authorPage.totalElements(),
+                authorPage.totalPages(),
+                authorPage.last()
         );
     }
 
     @Override
-    @Transactional
-    public Author createAuthor(String firstName, String lastName, String middleName, LocalDate birthDate) {
-        if (authorRepository.findByFirstNameAndLastNameAndMiddleNameAndBirthDate(
-                firstName,
-                lastName,
-                middleName,
-                birthDate).isPresent()
-        ) {
-            throw new AlreadyExistsException("library.errors.author.already_exists");
+    @Transactional(readOnly = true)
+    public AuthorCursorPage findAllAuthors(String after, int size) {
+        List<Author> authors = authorRepository.findByIdGreaterThanOrderById(PageCursor.decodeId(after), Limit.of(size + 1));
+        if (authors.size() <= size) {
+            return new AuthorCursorPage(authors, null);
         }
+        List<Author> content = authors.subList(0, size);
+        return new AuthorCursorPage(content, PageCursor.encode(content.get(size - 1).getId()));
+    }
 
-        Author author = new Author();
-        author.setFirstName(firstName);
-        author.setLastName(lastName);
-        Optional.ofNullable(middleName).ifPresent(author::setMiddleName);
-        author.setBirthDate(birthDate);
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.AUTHORS, key = "#result.id")
+    public Author createAuthor(String firstName, String lastName, String middleName, LocalDate birthDate) {
+        Integer authorId = authorRepository.insertIfAbsent(firstName, lastName, middleName, birthDate)
+                .orElseThrow(() -> new AlreadyExistsException("library.errors.author.already_exists"));
 
-        author = authorRepository.save(author);
+        Author author = new Author(authorId, firstName, lastName, middleName, birthDate);
+        outboxService.append(DomainEventType.AUTHOR_CREATED, author.getId(), author);
         log.info("Автор создан id {}", author.getId());
         return author;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS)
     public void deleteAuthor(Integer authorId) {
         authorRepository.findById(authorId)
                 .orElseThrow(() -> new NotExistsException("library.errors.author.not_found"));
@@ -79,6 +106,7 @@ public class AuthorServiceImpl implements AuthorService {
             throw new UnavailableOperationException("library.errors.author.delete_unavailable");
         }
         authorRepository.deleteById(authorId);
+        outboxService.append(DomainEventType.AUTHOR_DELETED, authorId, Map.of());
         log.info("Автор удален id {}", authorId);
     }
 }
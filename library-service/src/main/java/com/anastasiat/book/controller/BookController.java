@@ -1,22 +1,32 @@
 package com.anastasiat.book.controller;
 
+import com.anastasiat.book.controller.request.BatchBookRequest;
 import com.anastasiat.book.controller.request.CreateBookRequest;
 import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookOperationResult;
 import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
 import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.pagination.PageSize;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.library.service.LibraryService;
+import com.anastasiat.version.service.TableVersionService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("library-api/books")
@@ -26,19 +36,55 @@ public class BookController {
     private final BookService bookService;
     private final LibraryService libraryService;
     private final MessageSource messageSource;
+    private final TableVersionService tableVersionService;
 
     @GetMapping("/{bookId}")
-    public Book findBookById(@PathVariable("bookId") Integer bookId) {
+    public Book findBookById(@PathVariable("bookId") Integer bookId, WebRequest webRequest) {
+        Optional<Long> version = bookService.findBookVersion(bookId);
+        if (version.isPresent() && webRequest.checkNotModified("%d-%d".formatted(bookId, version.get()))) {
+            return null;
+        }
         return bookService.findBookById(bookId)
                 .orElseThrow(() -> new NotExistsException("library.errors.book.not_found"));
     }
 
     @GetMapping
     public BookPage findBooks(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "{library.errors.page.number_invalid}") int page,
+            @RequestParam(defaultValue = "20") @PageSize int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            WebRequest webRequest
     ) {
-        return bookService.findAllBooks(page, size);
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return bookService.findAllBooks(page, size, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping(params = "after")
+    public BookSummaryCursorPage findBooksAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return bookService.findAllBooks(after, size);
+    }
+
+    @GetMapping("/search")
+    public BookSummaryCursorPage searchBooks(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return bookService.searchBooks(q, after, size);
     }
 
     @PostMapping
@@ -86,10 +132,61 @@ public class BookController {
         return ResponseEntity.ok(messageSource.getMessage("library.ok.book.returned", null, locale));
     }
 
+    @PostMapping("/borrow/batch")
+    public List<BookOperationResult> borrowBooks(
+            @Valid @RequestBody BatchBookRequest batchBookRequest,
+            BindingResult bindingResult,
+            Locale locale
+    ) throws BindException {
+        throwIfInvalid(bindingResult);
+        return localize(
+                libraryService.borrowBooks(batchBookRequest.readerId(), batchBookRequest.bookIds()),
+                locale
+        );
+    }
+
+    @PostMapping("/return/batch")
+    public List<BookOperationResult> returnBooks(
+            @Valid @RequestBody BatchBookRequest batchBookRequest,
+            BindingResult bindingResult,
+            Locale locale
+    ) throws BindException {
+        throwIfInvalid(bindingResult);
+        return localize(
+                libraryService.returnBooks(batchBookRequest.readerId(), batchBookRequest.bookIds()),
+                locale
+        );
+    }
+
     @DeleteMapping("/{bookId}")
     public ResponseEntity<Void> deleteBook(@PathVariable("bookId") Integer bookId) {
         libraryService.deleteBook(bookId);
         return ResponseEntity.noContent()
                 .build();
     }
+
+    private boolean isNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified("v" + tableVersionService.findVersion(
+                TableVersionService.BOOK, TableVersionService.AUTHOR, TableVersionService.READER));
+    }
+
+    private void throwIfInvalid(BindingResult bindingResult) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException exception) {
+                throw exception;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        }
+    }
+
+    private List<BookOperationResult> localize(List<BookOperationResult> results, Locale locale) {
+        return results.stream()
+                .map(result -> new BookOperationResult(
+                        result.bookId(),
+                        result.success(),
+                        messageSource.getMessage(result.message(), null, result.message(), locale)
+                ))
+                .toList();
+    }
 }
@@ -0,0 +1,17 @@
+package com.anastasiat.book.controller.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchBookRequest(
+        @NotNull(message = "{library.book.batch.errors.readerId_is_null}")
+        Integer readerId,
+
+        @NotEmpty(message = "{library.book.batch.errors.bookIds_is_empty}")
+        @Size(max = 50, message = "{library.book.batch.errors.bookIds_size_is_invalid}")
+        List<@NotNull(message = "{library.book.batch.errors.bookIds_is_empty}") Integer> bookIds
+) {
+}
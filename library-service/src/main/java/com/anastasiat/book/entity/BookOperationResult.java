@@ -0,0 +1,4 @@
+package com.anastasiat.book.entity;
+
+public record BookOperationResult(Integer bookId, boolean success, String message) {
+}
@@ -1,5 +1,6 @@
 package com.anastasiat.book.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,9 +8,10 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BookPage {
-    private List<Book> content;
-    private long totalElements;
-    private int totalPages;
+    private List<BookSummary> content;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
 }
@@ -0,0 +1,8 @@
+package com.anastasiat.book.entity;
+
+public interface BookSearchHit {
+
+    Integer getId();
+
+    Float getRank();
+}
@@ -0,0 +1,16 @@
+package com.anastasiat.book.entity;
+
+import java.time.LocalDate;
+
+/**
+ * A row of a book list, selected column by column: it is not managed by the persistence context and carries
+ * no reader details.
+ */
+public record BookSummary(
+        Integer id,
+        String title,
+        String authorName,
+        Boolean isBorrowed,
+        LocalDate borrowDate
+) {
+}
@@ -0,0 +1,13 @@
+package com.anastasiat.book.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookSummaryCursorPage {
+    private List<BookSummary> content;
+    private String nextCursor;
+}
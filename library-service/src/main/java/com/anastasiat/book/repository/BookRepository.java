@@ -1,30 +1,209 @@
 package com.anastasiat.book.repository;
 
 import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookSearchHit;
+import com.anastasiat.book.entity.BookSummary;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookRepository extends CrudRepository<Book, Integer> {
 
-    Optional<Book> findByTitleAndAuthorId(String title, Integer authorId);
+    String SUMMARY_SELECT = """
+            select new com.anastasiat.book.entity.BookSummary(
+                b.id,
+                b.title,
+                concat(a.lastName, ' ', a.firstName,
+                       case when a.middleName is null then '' else concat(' ', a.middleName) end),
+                b.isBorrowed,
+                b.borrowDate)
+            from Book b join b.author a
+            """;
+
+    /**
+     * Inserts the book unless the author already has this title ({@code idx_author_id_title}); returns the new
+     * id, or nothing for a duplicate.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.book"))
+    @Query(value = """
+            insert into library.book (author_id, title, is_borrowed)
+            values (:authorId, :title, false)
+            on conflict (author_id, title) do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Integer> insertIfAbsent(@Param("title") String title, @Param("authorId") Integer authorId);
 
     boolean existsByReaderId(Integer readerId);
 
     boolean existsByAuthorId(Integer authorId);
 
-    Page<Book> findAll(Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"author", "reader"})
+    Optional<Book> findById(Integer id);
+
+    @Query(value = SUMMARY_SELECT + " order by b.id", countQuery = "select count(b) from Book b")
+    Page<BookSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " order by b.id")
+    Slice<BookSummary> findSummarySlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where b.id > :afterId order by b.id")
+    List<BookSummary> findSummariesAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query(SUMMARY_SELECT + " where b.id in :ids")
+    List<BookSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Seeks {@code idx_book_reader_id_id}: only the books the reader holds are read, whatever the catalog size.
+     */
+    @Query(SUMMARY_SELECT + " where b.reader.id = :readerId and b.id > :afterId order by b.id")
+    List<BookSummary> findSummariesByReaderAfter(
+            @Param("readerId") Integer readerId,
+            @Param("afterId") Integer afterId,
+            Limit limit
+    );
+
+    /**
+     * Seeks {@code idx_book_author_id_id}: only the author's own books are read, whatever the catalog size.
+     */
+    @Query(SUMMARY_SELECT + " where b.author.id = :authorId and b.id > :afterId order by b.id")
+    List<BookSummary> findSummariesByAuthorAfter(
+            @Param("authorId") Integer authorId,
+            @Param("afterId") Integer afterId,
+            Limit limit
+    );
+
+    /**
+     * Ranks title matches of a {@code simple} tsquery; pages are sought by {@code (rank desc, id)}. The expression
+     * index on {@code to_tsvector('simple', title)} finds the matches, and only the first {@code maxCandidates} of
+     * them are ranked, so a page of a common term costs the same at any depth instead of ranking and sorting every
+     * match.
+     */
+    @Query(value = """
+            select ranked.id, ranked.rank
+            from (select candidate.id, ts_rank(to_tsvector('simple', candidate.title), query) as rank
+                  from (select b.id, b.title
+                        from library.book b
+                        where to_tsvector('simple', b.title) @@ to_tsquery('simple', :query)
+                        limit :maxCandidates) candidate,
+                       to_tsquery('simple', :query) query) ranked
+            where ranked.rank < :afterRank or (ranked.rank = :afterRank and ranked.id > :afterId)
+            order by ranked.rank desc, ranked.id
+            limit :limit
+            """, nativeQuery = true)
+    List<BookSearchHit> searchByTitle(
+            @Param("query") String query,
+            @Param("maxCandidates") int maxCandidates,
+            @Param("afterRank") float afterRank,
+            @Param("afterId") int afterId,
+            @Param("limit") int limit
+    );
+
+    @Query(SUMMARY_SELECT + """
+            where b.isBorrowed = true and b.borrowDate < :borrowedBefore
+            order by b.borrowDate, b.id
+            """)
+    List<BookSummary> findOverdue(@Param("borrowedBefore") LocalDate borrowedBefore, Limit limit);
 
+    /**
+     * Seeks {@code idx_book_overdue} past {@code (afterDate, afterId)}: the plain lower bound on the date
+     * becomes the index condition, the id breaks ties within a day.
+     */
+    @Query(SUMMARY_SELECT + """
+            where b.isBorrowed = true and b.borrowDate < :borrowedBefore
+              and b.borrowDate >= :afterDate and (b.borrowDate > :afterDate or b.id > :afterId)
+            order by b.borrowDate, b.id
+            """)
+    List<BookSummary> findOverdueAfter(
+            @Param("borrowedBefore") LocalDate borrowedBefore,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Integer afterId,
+            Limit limit
+    );
+
+    @Query("select count(b) from Book b where b.isBorrowed = true")
+    long countBorrowed();
+
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Integer bookId);
+
+    /**
+     * Locks the book row only: the reader id is read from the lazy reference without loading the reader.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select b from Book b where b.id = :id")
     Optional<Book> findByIdForUpdate(@Param("id") Integer bookId);
+
+    /**
+     * Locks the rows in id order, so concurrent batches over overlapping books cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id in :ids order by b.id")
+    List<Book> findAllByIdInForUpdate(@Param("ids") Collection<Integer> bookIds);
+
+    /**
+     * Native updates declare the book table as their query space: without it Hibernate evicts every
+     * second-level cache region, including authors and readers, on each borrow and return.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.book"))
+    @Query(value = """
+            update library.book
+            set is_borrowed = true, borrow_date = :borrowDate, reader_id = :readerId, version = version + 1
+            where id in (:bookIds)
+            """, nativeQuery = true)
+    int borrowAll(
+            @Param("bookIds") Collection<Integer> bookIds,
+            @Param("readerId") Integer readerId,
+            @Param("borrowDate") LocalDate borrowDate
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.book"))
+    @Query(value = """
+            update library.book
+            set is_borrowed = false, borrow_date = null, reader_id = null, version = version + 1
+            where id in (:bookIds)
+            """, nativeQuery = true)
+    int returnAll(@Param("bookIds") Collection<Integer> bookIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.book"))
+    @Query(value = """
+            update library.book
+            set is_borrowed = true, borrow_date = :borrowDate, reader_id = :readerId, version = version + 1
+            where id = :bookId and is_borrowed is not true
+            """, nativeQuery = true)
+    int borrowIfAvailable(
+            @Param("bookId") Integer bookId,
+            @Param("readerId") Integer readerId,
+            @Param("borrowDate") LocalDate borrowDate
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.book"))
+    @Query(value = """
+            update library.book
+            set is_borrowed = false, borrow_date = null, reader_id = null, version = version + 1
+            where id = :bookId and is_borrowed and (reader_id = :readerId or reader_id is null)
+            """, nativeQuery = true)
+    int returnIfBorrowedBy(@Param("bookId") Integer bookId, @Param("readerId") Integer readerId);
 }
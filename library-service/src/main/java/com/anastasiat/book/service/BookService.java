@@ -3,27 +3,64 @@ package com.anastasiat.book.service;
 import com.anastasiat.author.entity.Author;
 import com.anastasiat.book.entity.Book;
 import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.entity.Reader;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookService {
 
-    Book createBook(String title, Author author);
+    /**
+     * Creates the book in one statement, or returns nothing when the author already has a book with this title.
+     */
+    Optional<Book> createBookIfAbsent(String title, Author author);
 
     void updateBook(Book book, boolean isBorrowed, Reader reader);
 
+    boolean borrowBookIfAvailable(Integer bookId, Integer readerId);
+
+    boolean returnBookIfBorrowedBy(Integer bookId, Integer readerId);
+
+    void borrowBooks(Collection<Integer> bookIds, Integer readerId);
+
+    void returnBooks(Collection<Integer> bookIds);
+
     Optional<Book> findBookById(Integer bookId);
 
-    BookPage findAllBooks(int page, int size);
+    Optional<Long> findBookVersion(Integer bookId);
+
+    BookPage findAllBooks(int page, int size, TotalMode totalMode);
+
+    BookSummaryCursorPage findAllBooks(String after, int size);
+
+    /**
+     * Pages through title matches, best ranked first. Only the first {@code config.search.max-candidates} matches
+     * of a query are ranked, so a term shared by more titles than that may miss some of them: the query has to be
+     * narrowed to reach the rest.
+     */
+    BookSummaryCursorPage searchBooks(String query, String after, int size);
+
+    BookSummaryCursorPage findBooksByReaderId(Integer readerId, String after, int size);
+
+    BookSummaryCursorPage findBooksByAuthorId(Integer authorId, String after, int size);
+
+    BookSummaryCursorPage findOverdueBooks(LocalDate borrowedBefore, String after, int size);
 
     Optional<Book> findBookByIdForUpdate(Integer bookId);
 
-    Optional<Book> findBookByTitleAndAuthorId(String title, Integer authorId);
+    List<Book> findBooksByIdsForUpdate(Collection<Integer> bookIds);
 
     boolean existBooksByAuthorId(Integer readerId);
 
     boolean existBooksByReaderId(Integer authorId);
 
     void deleteBookById(Integer bookId);
+
+    long countBooks();
+
+    long countBorrowedBooks();
 }
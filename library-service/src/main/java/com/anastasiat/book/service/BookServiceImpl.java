@@ -3,16 +3,36 @@ package com.anastasiat.book.service;
 import com.anastasiat.author.entity.Author;
 import com.anastasiat.book.entity.Book;
 import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSearchHit;
+import com.anastasiat.book.entity.BookSummary;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
 import com.anastasiat.book.repository.BookRepository;
+import com.anastasiat.exception.InvalidRequestException;
+import com.anastasiat.metrics.LibraryMetrics;
+import com.anastasiat.pagination.OffsetPage;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.statistics.service.TableStatisticsService;
+import com.anastasiat.version.service.TableVersionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,49 +40,216 @@ public class BookServiceImpl implements BookService {
 
     private final ZoneId zoneId;
     private final BookRepository bookRepository;
+    private final LibraryMetrics libraryMetrics;
+    private final TableStatisticsService tableStatisticsService;
 
-    @Override
-    public Book createBook(String title, Author author) {
-        Book book = new Book();
-        book.setTitle(title);
-        book.setAuthor(author);
+    @Value("${config.search.max-candidates}")
+    private int maxSearchCandidates;
 
-        return bookRepository.save(book);
+    @Override
+    public Optional<Book> createBookIfAbsent(String title, Author author) {
+        Optional<Integer> bookId = bookRepository.insertIfAbsent(title, author.getId());
+        if (bookId.isEmpty()) {
+            return Optional.empty();
+        }
+        libraryMetrics.booksCreated(1);
+        return Optional.of(new Book(bookId.get(), author, title, false, null, null, 0L));
     }
 
     @Override
     public void updateBook(Book book, boolean isBorrowed, Reader reader) {
+        boolean wasBorrowed = Boolean.TRUE.equals(book.getIsBorrowed());
         book.setIsBorrowed(isBorrowed);
         book.setBorrowDate(isBorrowed ? LocalDate.now(zoneId) : null);
         book.setReader(reader);
 
         bookRepository.save(book);
+        if (isBorrowed && !wasBorrowed) {
+            libraryMetrics.booksBorrowed(1);
+        } else if (!isBorrowed && wasBorrowed) {
+            libraryMetrics.booksReturned(1);
+        }
+    }
+
+    @Override
+    public boolean borrowBookIfAvailable(Integer bookId, Integer readerId) {
+        boolean borrowed = bookRepository.borrowIfAvailable(bookId, readerId, LocalDate.now(zoneId)) > 0;
+        if (borrowed) {
+            libraryMetrics.booksBorrowed(1);
+        }
+        return borrowed;
+    }
+
+    @Override
+    public boolean returnBookIfBorrowedBy(Integer bookId, Integer readerId) {
+        boolean returned = bookRepository.returnIfBorrowedBy(bookId, readerId) > 0;
+        if (returned) {
+            libraryMetrics.booksReturned(1);
+        }
+        return returned;
+    }
+
+    @Override
+    public void borrowBooks(Collection<Integer> bookIds, Integer readerId) {
+        if (!bookIds.isEmpty()) {
+            libraryMetrics.booksBorrowed(bookRepository.borrowAll(bookIds, readerId, LocalDate.now(zoneId)));
+        }
     }
 
     @Override
+    public void returnBooks(Collection<Integer> bookIds) {
+        if (!bookIds.isEmpty()) {
+            libraryMetrics.booksReturned(bookRepository.returnAll(bookIds));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Book> findBookById(Integer bookId) {
         return bookRepository.findById(bookId);
     }
 
     @Override
-    public BookPage findAllBooks(int page, int size) {
-        Page<Book> bookPage = bookRepository.findAll(PageRequest.of(page, size));
+    @Transactional(readOnly = true)
+    public Optional<Long> findBookVersion(Integer bookId) {
+        return bookRepository.findVersionById(bookId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookPage findAllBooks(int page, int size, TotalMode totalMode) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        OffsetPage<BookSummary> bookPage = switch (totalMode) {
+            case EXACT -> OffsetPage.exact(bookRepository.findSummaries(pageRequest));
+            case APPROXIMATE -> OffsetPage.approximate(bookRepository.findSummarySlice(pageRequest),
+                    tableStatisticsService.estimateRows(TableVersionService.BOOK));
+            case NONE -> OffsetPage.withoutTotal(bookRepository.findSummarySlice(pageRequest));
+        };
         return new BookPage(
-                bookPage.getContent(),
-                bookPage.getTotalElements(),
-                bookPage.getTotalPages(),
-                bookPage.isLast()
+                bookPage.content(),
+                bookPage.totalElements(),
+                bookPage.totalPages(),
+                bookPage.last()
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryCursorPage findAllBooks(String after, int size) {
+        return toIdCursorPage(bookRepository.findSummariesAfter(PageCursor.decodeId(after), Limit.of(size + 1)), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryCursorPage findBooksByReaderId(Integer readerId, String after, int size) {
+        return toIdCursorPage(bookRepository.findSummariesByReaderAfter(
+                readerId, PageCursor.decodeId(after), Limit.of(size + 1)), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryCursorPage findBooksByAuthorId(Integer authorId, String after, int size) {
+        return toIdCursorPage(bookRepository.findSummariesByAuthorAfter(
+                authorId, PageCursor.decodeId(after), Limit.of(size + 1)), size);
+    }
+
+    /**
+     * Cuts a page fetched with one extra row: the extra row only tells that a next page exists.
+     */
+    private BookSummaryCursorPage toIdCursorPage(List<BookSummary> books, int size) {
+        if (books.size() <= size) {
+            return new BookSummaryCursorPage(books, null);
+        }
+        List<BookSummary> content = books.subList(0, size);
+        return new BookSummaryCursorPage(content, PageCursor.encode(content.get(size - 1).id()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryCursorPage searchBooks(String query, String after, int size) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return new BookSummaryCursorPage(List.of(), null);
+        }
+
+        float afterRank = Float.POSITIVE_INFINITY;
+        int afterId = 0;
+        if (after != null && !after.isBlank()) {
+            List<String> keys = PageCursor.decode(after, 2);
+            try {
+                afterRank = Float.parseFloat(keys.get(0));
+                afterId = Integer.parseInt(keys.get(1));
+            } catch (NumberFormatException exception) {
+                throw new InvalidRequestException("library.errors.page.cursor_invalid");
+            }
+        }
+
+        List<BookSearchHit> hits = bookRepository.searchByTitle(
+                tsQuery, maxSearchCandidates, afterRank, afterId, size + 1);
+        List<BookSearchHit> pageHits = hits.size() <= size ? hits : hits.subList(0, size);
+        Map<Integer, BookSummary> books = bookRepository.findSummariesByIdIn(
+                        pageHits.stream().map(BookSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(BookSummary::id, Function.identity()));
+        List<BookSummary> content = pageHits.stream()
+                .map(hit -> books.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+        if (hits.size() <= size) {
+            return new BookSummaryCursorPage(content, null);
+        }
+        BookSearchHit last = pageHits.get(size - 1);
+        return new BookSummaryCursorPage(content, PageCursor.encode(last.getRank(), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookSummaryCursorPage findOverdueBooks(LocalDate borrowedBefore, String after, int size) {
+        List<BookSummary> books;
+        if (after == null || after.isBlank()) {
+            books = bookRepository.findOverdue(borrowedBefore, Limit.of(size + 1));
+        } else {
+            List<String> keys = PageCursor.decode(after, 2);
+            LocalDate afterDate;
+            int afterId;
+            try {
+                afterDate = LocalDate.parse(keys.get(0));
+                afterId = Integer.parseInt(keys.get(1));
+            } catch (DateTimeParseException | NumberFormatException exception) {
+                throw new InvalidRequestException("library.errors.page.cursor_invalid");
+            }
+            books = bookRepository.findOverdueAfter(borrowedBefore, afterDate, afterId, Limit.of(size + 1));
+        }
+        if (books.size() <= size) {
+            return new BookSummaryCursorPage(books, null);
+        }
+        List<BookSummary> content = books.subList(0, size);
+        BookSummary last = content.get(size - 1);
+        return new BookSummaryCursorPage(content, PageCursor.encode(last.borrowDate(), last.id()));
+    }
+
+    /**
+     * Turns free text into an AND of prefix terms. Only letters and digits are kept, so user input
+     * can never carry tsquery operators.
+     */
+    private String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
     @Override
     public Optional<Book> findBookByIdForUpdate(Integer bookId) {
-        return bookRepository.findByIdForUpdate(bookId);
+        return libraryMetrics.recordLockWait(() -> bookRepository.findByIdForUpdate(bookId));
     }
 
     @Override
-    public Optional<Book> findBookByTitleAndAuthorId(String title, Integer authorId) {
-        return bookRepository.findByTitleAndAuthorId(title, authorId);
+    public List<Book> findBooksByIdsForUpdate(Collection<Integer> bookIds) {
+        return libraryMetrics.recordLockWait(() -> bookRepository.findAllByIdInForUpdate(bookIds));
     }
 
     @Override
@@ -78,5 +265,16 @@ public class BookServiceImpl implements BookService {
     @Override
     public void deleteBookById(Integer bookId) {
         bookRepository.deleteById(bookId);
+        libraryMetrics.booksDeleted(1);
+    }
+
+    @Override
+    public long countBooks() {
+        return bookRepository.count();
+    }
+
+    @Override
+    public long countBorrowedBooks() {
+        return bookRepository.countBorrowed();
     }
 }
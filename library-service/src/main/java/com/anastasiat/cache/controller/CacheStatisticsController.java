@@ -0,0 +1,21 @@
+package com.anastasiat.cache.controller;
+
+import com.anastasiat.cache.entity.CacheStatisticsReport;
+import com.anastasiat.cache.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("library-api/cache")
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/statistics")
+    public CacheStatisticsReport getStatistics() {
+        return cacheStatisticsService.getStatistics();
+    }
+}
@@ -0,0 +1,11 @@
+package com.anastasiat.cache.entity;
+
+public record CacheStatistics(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {
+}
@@ -0,0 +1,13 @@
+package com.anastasiat.cache.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CacheStatisticsReport {
+    private List<CacheStatistics> caches;
+    private List<EntityRegionStatistics> entityRegions;
+}
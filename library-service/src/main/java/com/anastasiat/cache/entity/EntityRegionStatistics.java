@@ -0,0 +1,10 @@
+package com.anastasiat.cache.entity;
+
+public record EntityRegionStatistics(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        long putCount
+) {
+}
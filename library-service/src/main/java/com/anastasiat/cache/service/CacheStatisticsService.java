@@ -0,0 +1,8 @@
+package com.anastasiat.cache.service;
+
+import com.anastasiat.cache.entity.CacheStatisticsReport;
+
+public interface CacheStatisticsService {
+
+    CacheStatisticsReport getStatistics();
+}
@@ -0,0 +1,74 @@
+package com.anastasiat.cache.service;
+
+import com.anastasiat.cache.entity.CacheStatistics;
+import com.anastasiat.cache.entity.CacheStatisticsReport;
+import com.anastasiat.cache.entity.EntityRegionStatistics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public CacheStatisticsReport getStatistics() {
+        return new CacheStatisticsReport(getCacheStatistics(), getEntityRegionStatistics());
+    }
+
+    private List<CacheStatistics> getCacheStatistics() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toCacheStatistics)
+                .toList();
+    }
+
+    private CacheStatistics toCacheStatistics(Cache cache) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatistics(
+                cache.getName(),
+                nativeCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+
+    private List<EntityRegionStatistics> getEntityRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(this::toEntityRegionStatistics)
+                .toList();
+    }
+
+    private EntityRegionStatistics toEntityRegionStatistics(CacheRegionStatistics regionStatistics) {
+        return new EntityRegionStatistics(
+                regionStatistics.getRegionName(),
+                regionStatistics.getElementCountInMemory(),
+                regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(),
+                regionStatistics.getPutCount()
+        );
+    }
+}
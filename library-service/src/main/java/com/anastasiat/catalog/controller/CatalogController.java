@@ -0,0 +1,71 @@
+package com.anastasiat.catalog.controller;
+
+import com.anastasiat.catalog.entity.CatalogImportReject;
+import com.anastasiat.catalog.entity.CatalogImportReport;
+import com.anastasiat.catalog.service.CatalogExportService;
+import com.anastasiat.catalog.service.CatalogFormat;
+import com.anastasiat.catalog.service.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("library-api")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final CatalogImportService catalogImportService;
+    private final CatalogExportService catalogExportService;
+    private final MessageSource messageSource;
+
+    @PostMapping(path = "/catalog/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CatalogImportReport importNdjson(InputStream inputStream, Locale locale) throws IOException {
+        return localize(catalogImportService.importCatalog(inputStream, CatalogFormat.NDJSON), locale);
+    }
+
+    @PostMapping(path = "/catalog/import", consumes = TEXT_CSV_VALUE)
+    public CatalogImportReport importCsv(InputStream inputStream, Locale locale) throws IOException {
+        return localize(catalogImportService.importCatalog(inputStream, CatalogFormat.CSV), locale);
+    }
+
+    @GetMapping("/books/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "ndjson") String format) {
+        CatalogFormat catalogFormat = CatalogFormat.fromParameter(format);
+        MediaType mediaType = catalogFormat == CatalogFormat.NDJSON
+                ? MediaType.APPLICATION_NDJSON
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        String fileName = "books." + catalogFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(outputStream -> catalogExportService.exportBooks(outputStream, catalogFormat));
+    }
+
+    private CatalogImportReport localize(CatalogImportReport report, Locale locale) {
+        report.setRejects(report.getRejects().stream()
+                .map(reject -> new CatalogImportReject(
+                        reject.line(),
+                        reject.errors().stream()
+                                .map(error -> messageSource.getMessage(error, null, error, locale))
+                                .toList()
+                ))
+                .toList());
+        return report;
+    }
+}
@@ -0,0 +1,30 @@
+package com.anastasiat.catalog.controller.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public record CatalogImportRow(
+        @NotBlank(message = "{library.book.create.errors.title_is_null}")
+        @Size(max = 200, message = "{library.book.create.errors.title_size_is_invalid}")
+        String title,
+
+        @NotBlank(message = "{library.author.create.errors.firstName_is_null}")
+        @Size(max = 100, message = "{library.author.create.errors.firstName_size_is_invalid}")
+        String authorFirstName,
+
+        @NotBlank(message = "{library.author.create.errors.lastName_is_null}")
+        @Size(max = 100, message = "{library.author.create.errors.lastName_size_is_invalid}")
+        String authorLastName,
+
+        @Size(max = 100, message = "{library.author.create.errors.middleName_size_is_invalid}")
+        String authorMiddleName,
+
+        @NotNull(message = "{library.author.create.errors.birthDate_is_null}")
+        @PastOrPresent(message = "{library.author.create.errors.birthDate_in_future}")
+        LocalDate authorBirthDate
+) {
+}
@@ -0,0 +1,6 @@
+package com.anastasiat.catalog.entity;
+
+import java.time.LocalDate;
+
+public record AuthorKey(String firstName, String lastName, String middleName, LocalDate birthDate) {
+}
@@ -0,0 +1,6 @@
+package com.anastasiat.catalog.entity;
+
+import java.util.List;
+
+public record CatalogImportReject(long line, List<String> errors) {
+}
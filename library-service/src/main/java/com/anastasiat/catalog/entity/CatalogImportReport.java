@@ -0,0 +1,18 @@
+package com.anastasiat.catalog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CatalogImportReport {
+    private long processedRows;
+    private long importedBooks;
+    private long createdAuthors;
+    private long rejectedRows;
+    private List<CatalogImportReject> rejects;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
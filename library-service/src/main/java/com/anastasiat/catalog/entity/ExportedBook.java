@@ -0,0 +1,21 @@
+package com.anastasiat.catalog.entity;
+
+import java.time.LocalDate;
+
+public record ExportedBook(
+        Integer id,
+        String title,
+        Boolean isBorrowed,
+        LocalDate borrowDate,
+        Integer authorId,
+        String authorFirstName,
+        String authorLastName,
+        String authorMiddleName,
+        LocalDate authorBirthDate,
+        Integer readerId,
+        String readerFirstName,
+        String readerLastName,
+        String readerMiddleName,
+        String readerEmail
+) {
+}
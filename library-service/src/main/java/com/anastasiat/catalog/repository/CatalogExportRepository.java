@@ -0,0 +1,75 @@
+package com.anastasiat.catalog.repository;
+
+import com.anastasiat.catalog.entity.ExportedBook;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class CatalogExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every book in id order through a forward-only cursor. PostgreSQL only honours the fetch size
+     * with auto-commit off, so this must run inside a transaction.
+     */
+    public void forEachBook(int fetchSize, Consumer<ExportedBook> action) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("""
+                                    select b.id, b.title, b.is_borrowed, b.borrow_date,
+                                           a.id as author_id, a.first_name as author_first_name,
+                                           a.last_name as author_last_name, a.middle_name as author_middle_name,
+                                           a.birth_date as author_birth_date,
+                                           r.id as reader_id, r.first_name as reader_first_name,
+                                           r.last_name as reader_last_name, r.middle_name as reader_middle_name,
+                                           r.email as reader_email
+                                    from library.book b
+                                             join library.author a on a.id = b.author_id
+                                             left join library.reader r on r.id = b.reader_id
+                                    order by b.id
+                                    """,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY
+                    );
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                resultSet -> {
+                    action.accept(toExportedBook(resultSet));
+                }
+        );
+    }
+
+    private ExportedBook toExportedBook(ResultSet resultSet) throws SQLException {
+        return new ExportedBook(
+                resultSet.getInt("id"),
+                resultSet.getString("title"),
+                resultSet.getBoolean("is_borrowed"),
+                toLocalDate(resultSet.getDate("borrow_date")),
+                resultSet.getInt("author_id"),
+                resultSet.getString("author_first_name"),
+                resultSet.getString("author_last_name"),
+                resultSet.getString("author_middle_name"),
+                toLocalDate(resultSet.getDate("author_birth_date")),
+                resultSet.getObject("reader_id", Integer.class),
+                resultSet.getString("reader_first_name"),
+                resultSet.getString("reader_last_name"),
+                resultSet.getString("reader_middle_name"),
+                resultSet.getString("reader_email")
+        );
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
@@ -0,0 +1,154 @@
+package com.anastasiat.catalog.repository;
+
+import com.anastasiat.catalog.entity.AuthorKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class CatalogImportRepository {
+
+    /**
+     * Must match the {@code allocationSize} of the Author and Book sequence generators:
+     * every {@code nextval} reserves the ids {@code [value, value + ID_ALLOCATION_SIZE)}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewAuthor(Integer id, AuthorKey key) {
+    }
+
+    public record NewBook(Integer id, Integer authorId, String title) {
+    }
+
+    public Map<AuthorKey, Integer> findAuthorIds(List<AuthorKey> keys) {
+        Map<AuthorKey, Integer> authorIds = new HashMap<>();
+        if (keys.isEmpty()) {
+            return authorIds;
+        }
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("""
+                            select min(a.id) as id, k.idx
+                            from unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::date[])
+                                     with ordinality as k(first_name, last_name, middle_name, birth_date, idx)
+                                     join library.author a
+                                          on a.first_name = k.first_name
+                                              and a.last_name = k.last_name
+                                              and a.middle_name is not distinct from k.middle_name
+                                              and a.birth_date = k.birth_date
+                            group by k.idx
+                            """);
+                    statement.setArray(1, toArray(connection, "varchar", keys.stream().map(AuthorKey::firstName).toArray()));
+                    statement.setArray(2, toArray(connection, "varchar", keys.stream().map(AuthorKey::lastName).toArray()));
+                    statement.setArray(3, toArray(connection, "varchar", keys.stream().map(AuthorKey::middleName).toArray()));
+                    statement.setArray(4, toArray(connection, "date", keys.stream().map(key -> Date.valueOf(key.birthDate())).toArray()));
+                    return statement;
+                },
+                resultSet -> {
+                    authorIds.put(keys.get(resultSet.getInt("idx") - 1), resultSet.getInt("id"));
+                }
+        );
+        return authorIds;
+    }
+
+    public List<Integer> allocateAuthorIds(int count) {
+        return allocateIds("library.author_id_seq", count);
+    }
+
+    public List<Integer> allocateBookIds(int count) {
+        return allocateIds("library.book_id_seq", count);
+    }
+
+    /**
+     * Returns, per author, whether it was inserted; an author created concurrently by another import or request is
+     * skipped, and its id has to be looked up again.
+     */
+    public boolean[] insertAuthors(List<NewAuthor> authors) {
+        int[][] updateCounts = jdbcTemplate.batchUpdate(
+                """
+                        insert into library.author (id, first_name, last_name, middle_name, birth_date) values (?, ?, ?, ?, ?)
+                        on conflict (last_name, first_name, middle_name, birth_date) do nothing
+                        """,
+                authors,
+                authors.size(),
+                (statement, author) -> {
+                    statement.setInt(1, author.id());
+                    statement.setString(2, author.key().firstName());
+                    statement.setString(3, author.key().lastName());
+                    if (author.key().middleName() == null) {
+                        statement.setNull(4, Types.VARCHAR);
+                    } else {
+                        statement.setString(4, author.key().middleName());
+                    }
+                    statement.setDate(5, Date.valueOf(author.key().birthDate()));
+                }
+        );
+        return toInserted(updateCounts, authors.size());
+    }
+
+    /**
+     * Returns, per book, whether it was inserted; books whose title already exists for the author are skipped.
+     */
+    public boolean[] insertBooks(List<NewBook> books) {
+        int[][] updateCounts = jdbcTemplate.batchUpdate(
+                """
+                        insert into library.book (id, author_id, title, is_borrowed) values (?, ?, ?, false)
+                        on conflict (author_id, title) do nothing
+                        """,
+                books,
+                books.size(),
+                (statement, book) -> {
+                    statement.setInt(1, book.id());
+                    statement.setInt(2, book.authorId());
+                    statement.setString(3, book.title());
+                }
+        );
+        return toInserted(updateCounts, books.size());
+    }
+
+    private boolean[] toInserted(int[][] updateCounts, int size) {
+        boolean[] inserted = new boolean[size];
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                inserted[index++] = count > 0;
+            }
+        }
+        return inserted;
+    }
+
+    private List<Integer> allocateIds(String sequenceName, int count) {
+        int blocks = (count + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+        List<Integer> blockStarts = jdbcTemplate.queryForList(
+                "select nextval(?::regclass)::int from generate_series(1, ?)",
+                Integer.class,
+                sequenceName,
+                blocks
+        );
+        List<Integer> ids = new ArrayList<>(count);
+        for (Integer blockStart : blockStarts) {
+            for (int offset = 0; offset < ID_ALLOCATION_SIZE && ids.size() < count; offset++) {
+                ids.add(blockStart + offset);
+            }
+        }
+        return ids;
+    }
+
+    private Array toArray(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
@@ -0,0 +1,9 @@
+package com.anastasiat.catalog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CatalogExportService {
+
+    void exportBooks(OutputStream outputStream, CatalogFormat format) throws IOException;
+}
@@ -0,0 +1,61 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.repository.CatalogExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Slf4j
+@Service
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    private final CatalogExportRepository catalogExportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int fetchSize;
+
+    public CatalogExportServiceImpl(
+            CatalogExportRepository catalogExportRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${config.catalog.export-fetch-size}") int fetchSize
+    ) {
+        this.catalogExportRepository = catalogExportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportBooks(OutputStream outputStream, CatalogFormat format) throws IOException {
+        CatalogRowWriter writer = format == CatalogFormat.NDJSON
+                ? CatalogRowWriter.ndjson(objectMapper, outputStream)
+                : CatalogRowWriter.csv(outputStream);
+        long[] exportedBooks = new long[1];
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                    catalogExportRepository.forEachBook(fetchSize, book -> {
+                        try {
+                            writer.write(book);
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                        exportedBooks[0]++;
+                    })
+            );
+        } catch (UncheckedIOException exception) {
+            log.warn("Выгрузка каталога прервана после {} книг", exportedBooks[0]);
+            throw exception.getCause();
+        }
+        writer.finish();
+        log.info("Выгрузка каталога завершена: книг {}", exportedBooks[0]);
+    }
+}
@@ -0,0 +1,17 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.exception.InvalidRequestException;
+
+public enum CatalogFormat {
+    NDJSON,
+    CSV;
+
+    public static CatalogFormat fromParameter(String value) {
+        for (CatalogFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidRequestException("library.errors.export.format_invalid");
+    }
+}
@@ -0,0 +1,11 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.entity.CatalogImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CatalogImportService {
+
+    CatalogImportReport importCatalog(InputStream inputStream, CatalogFormat format) throws IOException;
+}
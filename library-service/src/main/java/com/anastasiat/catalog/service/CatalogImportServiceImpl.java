@@ -0,0 +1,200 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.controller.request.CatalogImportRow;
+import com.anastasiat.catalog.entity.AuthorKey;
+import com.anastasiat.catalog.entity.CatalogImportReject;
+import com.anastasiat.catalog.entity.CatalogImportReport;
+import com.anastasiat.catalog.repository.CatalogImportRepository;
+import com.anastasiat.catalog.repository.CatalogImportRepository.NewAuthor;
+import com.anastasiat.catalog.repository.CatalogImportRepository.NewBook;
+import com.anastasiat.metrics.LibraryMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private static final int MAX_REPORTED_REJECTS = 1000;
+
+    private final CatalogImportRepository catalogImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LibraryMetrics libraryMetrics;
+
+    @Value("${config.catalog.import-batch-size}")
+    private int batchSize;
+
+    @Override
+    public CatalogImportReport importCatalog(InputStream inputStream, CatalogFormat format) throws IOException {
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        CatalogRowParser parser = format == CatalogFormat.NDJSON ? CatalogRowParser.ndjson(objectMapper) : null;
+
+        List<PendingBook> chunk = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (parser == null) {
+                parser = CatalogRowParser.csv(line);
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            long recordLineNumber = lineNumber;
+            StringBuilder record = new StringBuilder(line);
+            while (!parser.isComplete(record.toString()) && (line = reader.readLine()) != null) {
+                lineNumber++;
+                record.append('\n').append(line);
+            }
+            progress.processedRows++;
+            PendingBook book = toPendingBook(parser, record.toString(), recordLineNumber, progress);
+            if (book != null) {
+                chunk.add(book);
+            }
+            if (chunk.size() >= batchSize) {
+                writeChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+
+        long durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        double rowsPerSecond = durationMillis == 0 ? progress.processedRows : progress.processedRows * 1000.0 / durationMillis;
+        log.info("Импорт каталога завершен: строк {}, книг {}, авторов {}, отклонено {}, {} мс",
+                progress.processedRows, progress.importedBooks, progress.createdAuthors, progress.rejectedRows, durationMillis);
+        return new CatalogImportReport(
+                progress.processedRows,
+                progress.importedBooks,
+                progress.createdAuthors,
+                progress.rejectedRows,
+                progress.rejects,
+                durationMillis,
+                rowsPerSecond
+        );
+    }
+
+    private PendingBook toPendingBook(CatalogRowParser parser, String line, long lineNumber, ImportProgress progress) {
+        CatalogImportRow row;
+        try {
+            row = parser.parse(line);
+        } catch (IllegalArgumentException exception) {
+            progress.reject(lineNumber, List.of("library.import.errors.row_invalid"));
+            return null;
+        }
+
+        Set<ConstraintViolation<CatalogImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            progress.reject(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessageTemplate)
+                    .map(template -> template.replaceAll("^\\{|}$", ""))
+                    .sorted()
+                    .toList());
+            return null;
+        }
+
+        String middleName = row.authorMiddleName() == null || row.authorMiddleName().isBlank()
+                ? null
+                : row.authorMiddleName();
+        return new PendingBook(
+                lineNumber,
+                row.title(),
+                new AuthorKey(row.authorFirstName(), row.authorLastName(), middleName, row.authorBirthDate())
+        );
+    }
+
+    private void writeChunk(List<PendingBook> chunk, ImportProgress progress) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<AuthorKey> authorKeys = List.copyOf(new LinkedHashSet<>(chunk.stream().map(PendingBook::author).toList()));
+            Map<AuthorKey, Integer> authorIds = catalogImportRepository.findAuthorIds(authorKeys);
+
+            List<AuthorKey> missingAuthors = authorKeys.stream()
+                    .filter(key -> !authorIds.containsKey(key))
+                    .toList();
+            int createdAuthors = 0;
+            if (!missingAuthors.isEmpty()) {
+                List<Integer> ids = catalogImportRepository.allocateAuthorIds(missingAuthors.size());
+                List<NewAuthor> newAuthors = new ArrayList<>(missingAuthors.size());
+                for (int i = 0; i < missingAuthors.size(); i++) {
+                    newAuthors.add(new NewAuthor(ids.get(i), missingAuthors.get(i)));
+                }
+                boolean[] insertedAuthors = catalogImportRepository.insertAuthors(newAuthors);
+                List<AuthorKey> concurrentAuthors = new ArrayList<>();
+                for (int i = 0; i < missingAuthors.size(); i++) {
+                    if (insertedAuthors[i]) {
+                        authorIds.put(missingAuthors.get(i), ids.get(i));
+                        createdAuthors++;
+                    } else {
+                        concurrentAuthors.add(missingAuthors.get(i));
+                    }
+                }
+                if (!concurrentAuthors.isEmpty()) {
+                    // the conflicting insert waited for the other transaction, so its author is visible now
+                    authorIds.putAll(catalogImportRepository.findAuthorIds(concurrentAuthors));
+                }
+            }
+
+            List<Integer> bookIds = catalogImportRepository.allocateBookIds(chunk.size());
+            List<NewBook> newBooks = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                newBooks.add(new NewBook(bookIds.get(i), authorIds.get(chunk.get(i).author()), chunk.get(i).title()));
+            }
+            boolean[] inserted = catalogImportRepository.insertBooks(newBooks);
+
+            progress.createdAuthors += createdAuthors;
+            int importedBooks = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                if (inserted[i]) {
+                    importedBooks++;
+                } else {
+                    progress.reject(chunk.get(i).line(), List.of("library.errors.book.already_exists"));
+                }
+            }
+            progress.importedBooks += importedBooks;
+            libraryMetrics.booksCreated(importedBooks);
+        });
+    }
+
+    private record PendingBook(long line, String title, AuthorKey author) {
+    }
+
+    private static class ImportProgress {
+
+        private long processedRows;
+        private long importedBooks;
+        private long createdAuthors;
+        private long rejectedRows;
+        private final List<CatalogImportReject> rejects = new ArrayList<>();
+
+        private void reject(long line, List<String> errors) {
+            rejectedRows++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new CatalogImportReject(line, errors));
+            }
+        }
+    }
+}
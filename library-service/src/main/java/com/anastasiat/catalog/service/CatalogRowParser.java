@@ -0,0 +1,124 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.controller.request.CatalogImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses one record of an import stream into a row; throws {@link IllegalArgumentException} for malformed records.
+ */
+interface CatalogRowParser {
+
+    CatalogImportRow parse(String line);
+
+    /**
+     * Whether the lines read so far make up a whole record; when not, the next line continues it.
+     */
+    default boolean isComplete(String record) {
+        return true;
+    }
+
+    static CatalogRowParser ndjson(ObjectMapper objectMapper) {
+        return new CatalogRowParser() {
+
+            @Override
+            public CatalogImportRow parse(String line) {
+                CatalogImportRow row;
+                try {
+                    row = objectMapper.readValue(line, CatalogImportRow.class);
+                } catch (JsonProcessingException exception) {
+                    throw new IllegalArgumentException(exception);
+                }
+                // a line holding the JSON literal null is valid JSON but no row
+                if (row == null) {
+                    throw new IllegalArgumentException("Expected a JSON object");
+                }
+                return row;
+            }
+        };
+    }
+
+    /**
+     * CSV with a header naming the columns {@code title, author_last_name, author_first_name,
+     * author_middle_name, author_birth_date} in any order. Fields may be quoted; quoted fields
+     * may span lines, as {@link CatalogRowWriter#csv} writes titles containing line breaks.
+     */
+    static CatalogRowParser csv(String header) {
+        List<String> columns = splitCsv(header);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            positions.put(columns.get(i).trim().toLowerCase(), i);
+        }
+        return new CatalogRowParser() {
+
+            @Override
+            public boolean isComplete(String record) {
+                // an escaped quote is a pair, so an odd count means a quoted field is still open
+                return record.chars().filter(c -> c == '"').count() % 2 == 0;
+            }
+
+            @Override
+            public CatalogImportRow parse(String line) {
+                List<String> fields = splitCsv(line);
+                if (fields.size() != columns.size()) {
+                    throw new IllegalArgumentException("Expected %d fields".formatted(columns.size()));
+                }
+                String birthDate = field(fields, "author_birth_date");
+                try {
+                    return new CatalogImportRow(
+                            field(fields, "title"),
+                            field(fields, "author_first_name"),
+                            field(fields, "author_last_name"),
+                            field(fields, "author_middle_name"),
+                            birthDate == null || birthDate.isBlank() ? null : LocalDate.parse(birthDate.trim())
+                    );
+                } catch (DateTimeParseException exception) {
+                    throw new IllegalArgumentException(exception);
+                }
+            }
+
+            private String field(List<String> fields, String column) {
+                Integer position = positions.get(column);
+                return position == null ? null : fields.get(position);
+            }
+        };
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
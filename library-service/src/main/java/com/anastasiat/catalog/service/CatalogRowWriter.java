@@ -0,0 +1,84 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.entity.ExportedBook;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes exported books one at a time; output is buffered and only flushed by {@link #finish()}.
+ */
+interface CatalogRowWriter {
+
+    void write(ExportedBook book) throws IOException;
+
+    void finish() throws IOException;
+
+    static CatalogRowWriter ndjson(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        ObjectWriter writer = objectMapper.writerFor(ExportedBook.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return new CatalogRowWriter() {
+
+            @Override
+            public void write(ExportedBook book) throws IOException {
+                writer.writeValue(generator, book);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    /**
+     * Column names match the ones accepted by the catalog import, so an export can be imported back.
+     */
+    static CatalogRowWriter csv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,title,is_borrowed,borrow_date,"
+                + "author_id,author_first_name,author_last_name,author_middle_name,author_birth_date,"
+                + "reader_id,reader_first_name,reader_last_name,reader_middle_name,reader_email\n");
+        return new CatalogRowWriter() {
+
+            @Override
+            public void write(ExportedBook book) throws IOException {
+                writer.write(String.join(",", Stream.of(
+                                book.id(), book.title(), book.isBorrowed(), book.borrowDate(),
+                                book.authorId(), book.authorFirstName(), book.authorLastName(),
+                                book.authorMiddleName(), book.authorBirthDate(),
+                                book.readerId(), book.readerFirstName(), book.readerLastName(),
+                                book.readerMiddleName(), book.readerEmail()
+                        )
+                        .map(value -> escapeCsv(Objects.toString(value, "")))
+                        .toList()));
+                writer.write('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
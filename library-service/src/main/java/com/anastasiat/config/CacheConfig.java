@@ -0,0 +1,33 @@
+package com.anastasiat.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String AUTHORS = "authors";
+    public static final String READERS = "readers";
+
+    @Value("${config.cache.spec}")
+    private String cacheSpec;
+
+    /**
+     * Puts and evictions are deferred until the surrounding transaction commits, so a rolled back
+     * create or delete never reaches the cache.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(AUTHORS, READERS);
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(cacheSpec));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,9 +1,11 @@
 package com.anastasiat.config;
 
+import com.anastasiat.library.service.BorrowMode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Period;
 import java.time.ZoneId;
 
 @Configuration
@@ -12,8 +14,24 @@ public class CommonConfig {
     @Value("${config.time-zone}")
     private String timeZone;
 
+    @Value("${config.loan.period}")
+    private String loanPeriod;
+
+    @Value("${config.borrow-mode}")
+    private BorrowMode borrowMode;
+
     @Bean
     public ZoneId zoneId() {
         return ZoneId.of(timeZone);
     }
+
+    @Bean
+    public Period loanPeriod() {
+        return Period.parse(loanPeriod);
+    }
+
+    @Bean
+    public BorrowMode borrowMode() {
+        return borrowMode;
+    }
 }
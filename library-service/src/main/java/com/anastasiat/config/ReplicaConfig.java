@@ -0,0 +1,112 @@
+package com.anastasiat.config;
+
+import com.anastasiat.metrics.ReplicaMetrics;
+import com.anastasiat.replica.ConsistencyTokenInterceptor;
+import com.anastasiat.replica.ReplicaLagMonitor;
+import com.anastasiat.replica.ReplicaRoutingDataSource;
+import com.anastasiat.replica.ReplicaRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, enabled by {@code config.replica.urls}. The auto-configured Hikari pool stays the primary and
+ * keeps its Boot configuration and metrics; it is only wrapped so that read-only transactions can be routed.
+ */
+@Configuration
+@ConditionalOnExpression("!'${config.replica.urls:}'.isBlank()")
+public class ReplicaConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof HikariDataSource primary)) {
+                    return bean;
+                }
+                List<String> urls = StringUtils.commaDelimitedListToSet(
+                        environment.getRequiredProperty("config.replica.urls")).stream()
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .toList();
+                Duration connectionTimeout = environment.getRequiredProperty(
+                        "config.replica.connection-timeout", Duration.class);
+                List<Replica> replicas = new ArrayList<>();
+                for (int i = 0; i < urls.size(); i++) {
+                    String name = "replica-" + (i + 1);
+                    replicas.add(new Replica(name, replicaPool(primary, name, urls.get(i), connectionTimeout)));
+                }
+                return new RoutingDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas));
+            }
+        };
+    }
+
+    /**
+     * A replica pool mirrors the primary pool except for the URL; a short connection timeout lets a read fall
+     * back to the primary instead of waiting for a replica that went away.
+     */
+    private static HikariDataSource replicaPool(HikariDataSource primary, String name, String url,
+                                                Duration connectionTimeout) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setReadOnly(true);
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Being {@link AutoCloseable}, the proxy keeps the inferred destroy method of the {@code dataSource} bean it
+     * replaces, so the pools behind it are closed on shutdown.
+     */
+    private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routingDataSource;
+
+        private RoutingDataSourceProxy(ReplicaRoutingDataSource routingDataSource) {
+            super(routingDataSource);
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Override
+        public void close() {
+            routingDataSource.close();
+        }
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource,
+                                               @Value("${config.replica.max-lag}") DataSize maxLag) throws SQLException {
+        return new ReplicaLagMonitor(dataSource.unwrap(ReplicaRoutingDataSource.class), maxLag.toBytes());
+    }
+
+    @Bean
+    public ReplicaMetrics replicaMetrics(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        return new ReplicaMetrics(dataSource.unwrap(ReplicaRoutingDataSource.class), meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConsistencyTokenInterceptor());
+    }
+}
@@ -1,10 +1,12 @@
 package com.anastasiat.controller;
 
 import com.anastasiat.exception.AlreadyExistsException;
+import com.anastasiat.exception.InvalidRequestException;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.exception.UnavailableOperationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +14,7 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.List;
 import java.util.Locale;
@@ -36,7 +39,27 @@ public class ErrorRequestControllerAdvice {
                 .body(problemDetail);
     }
 
-    @ExceptionHandler({AlreadyExistsException.class, UnavailableOperationException.class})
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ProblemDetail> handleHandlerMethodValidationException(
+            HandlerMethodValidationException exception
+    ) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setProperty(
+                "errors",
+                exception.getAllErrors().stream()
+                        .map(MessageSourceResolvable::getDefaultMessage)
+                        .toList()
+        );
+
+        return ResponseEntity.badRequest()
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler({
+            AlreadyExistsException.class,
+            UnavailableOperationException.class,
+            InvalidRequestException.class
+    })
     public ResponseEntity<ProblemDetail> handleAlreadyExistsAndUnavailableOperationException(
             RuntimeException exception,
             Locale locale
@@ -0,0 +1,14 @@
+package com.anastasiat.library.service;
+
+public enum BorrowMode {
+
+    /**
+     * Reads the book with {@code select ... for update} and saves the changed entity.
+     */
+    LOCKING,
+
+    /**
+     * Issues a single {@code update ... where is_borrowed = ...} and decides by the affected row count.
+     */
+    CONDITIONAL_UPDATE
+}
@@ -1,6 +1,9 @@
 package com.anastasiat.library.service;
 
 import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookOperationResult;
+
+import java.util.List;
 
 public interface LibraryService {
 
@@ -11,4 +14,8 @@ public interface LibraryService {
     void borrowBook(Integer readerId, Integer bookId);
 
     void returnBook(Integer readerId, Integer bookId);
+
+    List<BookOperationResult> borrowBooks(Integer readerId, List<Integer> bookIds);
+
+    List<BookOperationResult> returnBooks(Integer readerId, List<Integer> bookIds);
 }
@@ -3,16 +3,30 @@ package com.anastasiat.library.service;
 import com.anastasiat.author.entity.Author;
 import com.anastasiat.author.service.AuthorService;
 import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookOperationResult;
 import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.AlreadyExistsException;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.loan.service.LoanService;
+import com.anastasiat.metrics.LibraryMetrics;
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.service.OutboxService;
 import com.anastasiat.reader.entity.Reader;
 import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.waitlist.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,38 +36,165 @@ public class LibraryServiceImpl implements LibraryService {
     private final BookService bookService;
     private final AuthorService authorService;
     private final ReaderService readerService;
-
+    private final LoanService loanService;
+    private final WaitlistService waitlistService;
+    private final OutboxService outboxService;
+    private final BorrowMode borrowMode;
+    private final LibraryMetrics libraryMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The four single-book operations run their transaction inside the timer, so the recorded outcome and
+     * latency include the commit: a commit that fails is an error, not a success.
+     */
     @Override
-    @Transactional
     public Book createBook(String title, Integer authorId) {
+        return libraryMetrics.recordOperation(LibraryMetrics.CREATE,
+                () -> transactionTemplate.execute(status -> createBookTimed(title, authorId)));
+    }
+
+    @Override
+    public void deleteBook(Integer bookId) {
+        libraryMetrics.recordOperation(LibraryMetrics.DELETE,
+                () -> transactionTemplate.executeWithoutResult(status -> deleteBookTimed(bookId)));
+    }
+
+    @Override
+    public void borrowBook(Integer readerId, Integer bookId) {
+        libraryMetrics.recordOperation(LibraryMetrics.BORROW,
+                () -> transactionTemplate.executeWithoutResult(status -> borrowBookTimed(readerId, bookId)));
+    }
+
+    @Override
+    public void returnBook(Integer readerId, Integer bookId) {
+        libraryMetrics.recordOperation(LibraryMetrics.RETURN,
+                () -> transactionTemplate.executeWithoutResult(status -> returnBookTimed(readerId, bookId)));
+    }
 
+    private Book createBookTimed(String title, Integer authorId) {
         Author author = authorService.findAuthorById(authorId)
                 .orElseThrow(() -> new NotExistsException("library.errors.author.not_found"));
 
-        if (bookService.findBookByTitleAndAuthorId(title, authorId).isPresent()) {
-            throw new AlreadyExistsException("library.errors.book.already_exists");
-        }
-
-        Book book = bookService.createBook(title, author);
+        Book book = bookService.createBookIfAbsent(title, author)
+                .orElseThrow(() -> new AlreadyExistsException("library.errors.book.already_exists"));
+        outboxService.append(DomainEventType.BOOK_CREATED, book.getId(), Map.of("title", title, "authorId", authorId));
         log.info("Книга создана id {}", book.getId());
         return book;
     }
 
-    @Override
-    @Transactional
-    public void deleteBook(Integer bookId) {
+    private void deleteBookTimed(Integer bookId) {
         Book book = bookService.findBookById(bookId)
                 .orElseThrow(() -> new NotExistsException("library.errors.book.not_found"));
         if (book.getIsBorrowed()) {
             throw new UnavailableOperationException("library.errors.book.delete_unavailable");
         }
         bookService.deleteBookById(bookId);
+        outboxService.append(DomainEventType.BOOK_DELETED, bookId, Map.of());
         log.info("Книга удалена id {}", bookId);
     }
 
+    private void borrowBookTimed(Integer readerId, Integer bookId) {
+        switch (borrowMode) {
+            case LOCKING -> borrowBookWithLock(readerId, bookId);
+            case CONDITIONAL_UPDATE -> borrowBookWithConditionalUpdate(readerId, bookId);
+        }
+        loanService.openLoans(List.of(bookId), readerId);
+        outboxService.append(DomainEventType.BOOK_BORROWED, bookId, Map.of("readerId", readerId));
+        log.info("Книга id {} взята читателем id {}", bookId, readerId);
+    }
+
+    private void returnBookTimed(Integer readerId, Integer bookId) {
+        switch (borrowMode) {
+            case LOCKING -> returnBookWithLock(readerId, bookId);
+            case CONDITIONAL_UPDATE -> returnBookWithConditionalUpdate(readerId, bookId);
+        }
+        loanService.closeLoans(List.of(bookId));
+        outboxService.append(DomainEventType.BOOK_RETURNED, bookId, Map.of("readerId", readerId));
+        log.info("Книга id {} возвращена читателем id {}", bookId, readerId);
+        handOffToWaitlist(List.of(bookId));
+    }
+
     @Override
     @Transactional
-    public void borrowBook(Integer readerId, Integer bookId) {
+    public List<BookOperationResult> borrowBooks(Integer readerId, List<Integer> bookIds) {
+        readerService.findReaderById(readerId)
+                .orElseThrow(() -> new NotExistsException("library.errors.reader.not_found"));
+
+        Map<Integer, Book> books = findBooksForUpdate(bookIds);
+        List<BookOperationResult> results = new ArrayList<>();
+        List<Integer> borrowedBookIds = new ArrayList<>();
+        for (Integer bookId : bookIds.stream().distinct().toList()) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                results.add(new BookOperationResult(bookId, false, "library.errors.book.not_found"));
+            } else if (book.getIsBorrowed()) {
+                results.add(new BookOperationResult(bookId, false, "library.errors.book.not_available"));
+            } else {
+                borrowedBookIds.add(bookId);
+                results.add(new BookOperationResult(bookId, true, "library.ok.book.borrowed"));
+            }
+        }
+
+        bookService.borrowBooks(borrowedBookIds, readerId);
+        loanService.openLoans(borrowedBookIds, readerId);
+        outboxService.appendAll(DomainEventType.BOOK_BORROWED, borrowedBookIds, id -> Map.of("readerId", readerId));
+        log.info("Книги id {} взяты читателем id {}", borrowedBookIds, readerId);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<BookOperationResult> returnBooks(Integer readerId, List<Integer> bookIds) {
+        Map<Integer, Book> books = findBooksForUpdate(bookIds);
+        List<BookOperationResult> results = new ArrayList<>();
+        List<Integer> returnedBookIds = new ArrayList<>();
+        for (Integer bookId : bookIds.stream().distinct().toList()) {
+            Book book = books.get(bookId);
+            if (book == null) {
+                results.add(new BookOperationResult(bookId, false, "library.errors.book.not_found"));
+            } else if (!book.getIsBorrowed()) {
+                results.add(new BookOperationResult(bookId, false, "library.errors.book.available"));
+            } else if (book.getReader() != null && !readerId.equals(book.getReader().getId())) {
+                results.add(new BookOperationResult(bookId, false, "library.errors.book.not_available"));
+            } else {
+                returnedBookIds.add(bookId);
+                results.add(new BookOperationResult(bookId, true, "library.ok.book.returned"));
+            }
+        }
+
+        bookService.returnBooks(returnedBookIds);
+        loanService.closeLoans(returnedBookIds);
+        outboxService.appendAll(DomainEventType.BOOK_RETURNED, returnedBookIds, id -> Map.of("readerId", readerId));
+        log.info("Книги id {} возвращены читателем id {}", returnedBookIds, readerId);
+        handOffToWaitlist(returnedBookIds);
+        return results;
+    }
+
+    /**
+     * Lends returned books to the head of their queues in the returning transaction: the book rows are still
+     * locked, so no other borrower can take a book between its return and the hand-off.
+     */
+    private void handOffToWaitlist(List<Integer> returnedBookIds) {
+        waitlistService.pollNext(returnedBookIds).entrySet().stream()
+                .collect(Collectors.groupingBy(
+                        Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())
+                ))
+                .forEach((nextReaderId, bookIds) -> {
+                    bookService.borrowBooks(bookIds, nextReaderId);
+                    loanService.openLoans(bookIds, nextReaderId);
+                    outboxService.appendAll(
+                            DomainEventType.BOOK_BORROWED, bookIds, id -> Map.of("readerId", nextReaderId));
+                    log.info("Книги id {} переданы читателю id {} из очереди", bookIds, nextReaderId);
+                });
+    }
+
+    private Map<Integer, Book> findBooksForUpdate(List<Integer> bookIds) {
+        return bookService.findBooksByIdsForUpdate(bookIds.stream().distinct().sorted().toList()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+    }
+
+    private void borrowBookWithLock(Integer readerId, Integer bookId) {
         Reader reader = readerService.findReaderById(readerId)
                 .orElseThrow(() -> new NotExistsException("library.errors.reader.not_found"));
 
@@ -65,12 +206,26 @@ public class LibraryServiceImpl implements LibraryService {
         }
 
         bookService.updateBook(book, true, reader);
-        log.info("Книга id {} взята читателем id {}", bookId, readerId);
     }
 
-    @Override
-    @Transactional
-    public void returnBook(Integer readerId, Integer bookId) {
+    private void borrowBookWithConditionalUpdate(Integer readerId, Integer bookId) {
+        boolean borrowed;
+        try {
+            borrowed = bookService.borrowBookIfAvailable(bookId, readerId);
+        } catch (DataIntegrityViolationException exception) {
+            throw new NotExistsException("library.errors.reader.not_found");
+        }
+
+        if (!borrowed) {
+            readerService.findReaderById(readerId)
+                    .orElseThrow(() -> new NotExistsException("library.errors.reader.not_found"));
+            bookService.findBookById(bookId)
+                    .orElseThrow(() -> new NotExistsException("library.errors.book.not_found"));
+            throw new UnavailableOperationException("library.errors.book.not_available");
+        }
+    }
+
+    private void returnBookWithLock(Integer readerId, Integer bookId) {
         Book book = bookService.findBookByIdForUpdate(bookId)
                 .orElseThrow(() -> new NotExistsException("library.errors.book.not_found"));
 
@@ -83,6 +238,17 @@ public class LibraryServiceImpl implements LibraryService {
         }
 
         bookService.updateBook(book, false, null);
-        log.info("Книга id {} возвращена читателем id {}", bookId, readerId);
+    }
+
+    private void returnBookWithConditionalUpdate(Integer readerId, Integer bookId) {
+        if (!bookService.returnBookIfBorrowedBy(bookId, readerId)) {
+            Book book = bookService.findBookById(bookId)
+                    .orElseThrow(() -> new NotExistsException("library.errors.book.not_found"));
+
+            if (!book.getIsBorrowed()) {
+                throw new UnavailableOperationException("library.errors.book.available");
+            }
+            throw new UnavailableOperationException("library.errors.book.not_available");
+        }
     }
 }
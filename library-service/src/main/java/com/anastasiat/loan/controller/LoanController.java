@@ -0,0 +1,46 @@
+package com.anastasiat.loan.controller;
+
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.loan.entity.LoanCursorPage;
+import com.anastasiat.loan.service.LoanService;
+import com.anastasiat.pagination.PageSize;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("library-api")
+@RequiredArgsConstructor
+public class LoanController {
+
+    private final LoanService loanService;
+
+    @GetMapping("/readers/{readerId}/loans")
+    public LoanCursorPage findReaderLoans(
+            @PathVariable("readerId") Integer readerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size
+    ) {
+        return loanService.findReaderLoans(readerId, after, size);
+    }
+
+    @GetMapping("/books/{bookId}/loans")
+    public LoanCursorPage findBookLoans(
+            @PathVariable("bookId") Integer bookId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size
+    ) {
+        return loanService.findBookLoans(bookId, after, size);
+    }
+
+    @GetMapping("/books/overdue")
+    public BookSummaryCursorPage findOverdueBooks(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size
+    ) {
+        return loanService.findOverdueBooks(after, size);
+    }
+}
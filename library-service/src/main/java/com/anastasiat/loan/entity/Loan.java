@@ -0,0 +1,13 @@
+package com.anastasiat.loan.entity;
+
+import java.time.OffsetDateTime;
+
+public record Loan(
+        Long id,
+        Integer bookId,
+        Integer readerId,
+        OffsetDateTime borrowedAt,
+        OffsetDateTime returnedAt,
+        OffsetDateTime overdueAt
+) {
+}
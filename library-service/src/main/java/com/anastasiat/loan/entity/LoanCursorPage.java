@@ -0,0 +1,13 @@
+package com.anastasiat.loan.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LoanCursorPage {
+    private List<Loan> content;
+    private String nextCursor;
+}
@@ -0,0 +1,105 @@
+package com.anastasiat.loan.repository;
+
+import com.anastasiat.loan.entity.Loan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class LoanRepository {
+
+    private static final RowMapper<Loan> LOAN_ROW_MAPPER = (resultSet, rowNum) -> new Loan(
+            resultSet.getLong("id"),
+            resultSet.getInt("book_id"),
+            (Integer) resultSet.getObject("reader_id"),
+            resultSet.getObject("borrowed_at", OffsetDateTime.class),
+            resultSet.getObject("returned_at", OffsetDateTime.class),
+            resultSet.getObject("overdue_at", OffsetDateTime.class)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Loans are stamped with the transaction time, so they commit or roll back with the book update.
+     */
+    public void openLoans(Collection<Integer> bookIds, Integer readerId) {
+        jdbcTemplate.update("""
+                        insert into library.loan (book_id, reader_id, borrowed_at)
+                        select book_id, :readerId, now()
+                        from unnest(cast(:bookIds as integer[])) as book_id
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("bookIds", bookIds.toArray(Integer[]::new))
+                        .addValue("readerId", readerId));
+    }
+
+    public int closeLoans(Collection<Integer> bookIds) {
+        return jdbcTemplate.update("""
+                        update library.loan
+                        set returned_at = now()
+                        where book_id in (:bookIds) and returned_at is null
+                        """,
+                new MapSqlParameterSource("bookIds", bookIds));
+    }
+
+    public int markOverdue(Collection<Integer> bookIds) {
+        return jdbcTemplate.update("""
+                        update library.loan
+                        set overdue_at = now()
+                        where book_id in (:bookIds) and returned_at is null and overdue_at is null
+                        """,
+                new MapSqlParameterSource("bookIds", bookIds));
+    }
+
+    public List<Loan> findByReaderId(Integer readerId, OffsetDateTime afterBorrowedAt, long afterId, int limit) {
+        return findHistory("reader_id", readerId, afterBorrowedAt, afterId, limit);
+    }
+
+    public List<Loan> findByBookId(Integer bookId, OffsetDateTime afterBorrowedAt, long afterId, int limit) {
+        return findHistory("book_id", bookId, afterBorrowedAt, afterId, limit);
+    }
+
+    public boolean createPartition(LocalDate month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select library.create_loan_partition(:month)",
+                new MapSqlParameterSource("month", month),
+                Boolean.class
+        ));
+    }
+
+    /**
+     * The plain {@code borrowed_at <= :afterBorrowedAt} bound lets the executor prune months newer than the
+     * cursor; the row comparison then breaks ties by id.
+     */
+    private List<Loan> findHistory(
+            String column,
+            Integer id,
+            OffsetDateTime afterBorrowedAt,
+            long afterId,
+            int limit
+    ) {
+        return jdbcTemplate.query("""
+                        select id, book_id, reader_id, borrowed_at, returned_at, overdue_at
+                        from library.loan
+                        where %s = :id
+                          and borrowed_at <= :afterBorrowedAt
+                          and (borrowed_at, id) < (:afterBorrowedAt, :afterId)
+                        order by borrowed_at desc, id desc
+                        limit :limit
+                        """.formatted(column),
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("afterBorrowedAt", afterBorrowedAt)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                LOAN_ROW_MAPPER);
+    }
+}
@@ -0,0 +1,71 @@
+package com.anastasiat.loan.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OverdueScanRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the watermark row until commit, so concurrent scans by several instances walk the loans in turn.
+     */
+    public ScanPosition lockWatermark() {
+        return jdbcTemplate.queryForObject("""
+                        select borrow_date, book_id
+                        from library.overdue_scan_watermark
+                        for update
+                        """,
+                new MapSqlParameterSource(),
+                (resultSet, rowNum) -> new ScanPosition(
+                        resultSet.getObject("borrow_date", LocalDate.class),
+                        resultSet.getInt("book_id")
+                ));
+    }
+
+    public void advanceWatermark(ScanPosition position) {
+        jdbcTemplate.update("""
+                        update library.overdue_scan_watermark
+                        set borrow_date = :borrowDate, book_id = :bookId
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("borrowDate", position.borrowDate())
+                        .addValue("bookId", position.bookId()));
+    }
+
+    /**
+     * Walks {@code idx_book_overdue} from the watermark up to the due bound. New borrows are dated today,
+     * always past the bound, so nothing can appear behind the watermark.
+     */
+    public List<ScanPosition> findOverdueAfter(ScanPosition watermark, LocalDate borrowedBefore, int limit) {
+        return jdbcTemplate.query("""
+                        select id, borrow_date
+                        from library.book
+                        where is_borrowed
+                          and borrow_date < :borrowedBefore
+                          and borrow_date >= :afterDate
+                          and (borrow_date, id) > (:afterDate, :afterId)
+                        order by borrow_date, id
+                        limit :limit
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("borrowedBefore", borrowedBefore)
+                        .addValue("afterDate", watermark.borrowDate())
+                        .addValue("afterId", watermark.bookId())
+                        .addValue("limit", limit),
+                (resultSet, rowNum) -> new ScanPosition(
+                        resultSet.getObject("borrow_date", LocalDate.class),
+                        resultSet.getInt("id")
+                ));
+    }
+
+    public record ScanPosition(LocalDate borrowDate, Integer bookId) {
+    }
+}
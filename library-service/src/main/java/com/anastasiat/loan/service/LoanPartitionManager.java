@@ -0,0 +1,45 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.loan.repository.LoanRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps monthly loan partitions created ahead of time, so new loans never land in the default partition.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoanPartitionManager {
+
+    private final LoanRepository loanRepository;
+
+    @Value("${config.loan.partition-months-ahead}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${config.loan.partition-cron}", zone = "UTC")
+    public void createPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate partitionMonth = month.plusMonths(i);
+            try {
+                if (loanRepository.createPartition(partitionMonth)) {
+                    log.info("Создана секция истории выдач за {}", partitionMonth);
+                }
+            } catch (DataAccessException exception) {
+                // runs on startup too: a month that cannot be created must not stop the service or later months
+                log.error("Не удалось создать секцию истории выдач за {}", partitionMonth, exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.loan.entity.LoanCursorPage;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface LoanService {
+
+    void openLoans(Collection<Integer> bookIds, Integer readerId);
+
+    void closeLoans(Collection<Integer> bookIds);
+
+    LoanCursorPage findReaderLoans(Integer readerId, String after, int size);
+
+    LoanCursorPage findBookLoans(Integer bookId, String after, int size);
+
+    BookSummaryCursorPage findOverdueBooks(String after, int size);
+
+    /**
+     * Books borrowed before this date are past the loan period.
+     */
+    LocalDate overdueBorrowedBefore();
+}
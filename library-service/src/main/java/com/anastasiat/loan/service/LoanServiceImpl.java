@@ -0,0 +1,93 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.exception.InvalidRequestException;
+import com.anastasiat.loan.entity.Loan;
+import com.anastasiat.loan.entity.LoanCursorPage;
+import com.anastasiat.loan.repository.LoanRepository;
+import com.anastasiat.pagination.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class LoanServiceImpl implements LoanService {
+
+    private final ZoneId zoneId;
+    private final Period loanPeriod;
+    private final LoanRepository loanRepository;
+    private final BookService bookService;
+
+    @Override
+    public void openLoans(Collection<Integer> bookIds, Integer readerId) {
+        if (!bookIds.isEmpty()) {
+            loanRepository.openLoans(bookIds, readerId);
+        }
+    }
+
+    @Override
+    public void closeLoans(Collection<Integer> bookIds) {
+        if (!bookIds.isEmpty()) {
+            loanRepository.closeLoans(bookIds);
+        }
+    }
+
+    @Override
+    public LoanCursorPage findReaderLoans(Integer readerId, String after, int size) {
+        HistoryCursor cursor = HistoryCursor.decode(after);
+        return toPage(loanRepository.findByReaderId(readerId, cursor.borrowedAt(), cursor.id(), size + 1), size);
+    }
+
+    @Override
+    public LoanCursorPage findBookLoans(Integer bookId, String after, int size) {
+        HistoryCursor cursor = HistoryCursor.decode(after);
+        return toPage(loanRepository.findByBookId(bookId, cursor.borrowedAt(), cursor.id(), size + 1), size);
+    }
+
+    @Override
+    public BookSummaryCursorPage findOverdueBooks(String after, int size) {
+        return bookService.findOverdueBooks(overdueBorrowedBefore(), after, size);
+    }
+
+    @Override
+    public LocalDate overdueBorrowedBefore() {
+        return LocalDate.now(zoneId).minus(loanPeriod);
+    }
+
+    private static LoanCursorPage toPage(List<Loan> loans, int size) {
+        if (loans.size() <= size) {
+            return new LoanCursorPage(loans, null);
+        }
+        List<Loan> content = loans.subList(0, size);
+        Loan last = content.get(size - 1);
+        return new LoanCursorPage(content, PageCursor.encode(last.borrowedAt(), last.id()));
+    }
+
+    /**
+     * Position in a history ordered by {@code (borrowed_at desc, id desc)}; the first page starts after
+     * everything.
+     */
+    private record HistoryCursor(OffsetDateTime borrowedAt, long id) {
+
+        static HistoryCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new HistoryCursor(OffsetDateTime.MAX, Long.MAX_VALUE);
+            }
+            List<String> keys = PageCursor.decode(cursor, 2);
+            try {
+                return new HistoryCursor(OffsetDateTime.parse(keys.get(0)), Long.parseLong(keys.get(1)));
+            } catch (DateTimeParseException | NumberFormatException exception) {
+                throw new InvalidRequestException("library.errors.page.cursor_invalid");
+            }
+        }
+    }
+}
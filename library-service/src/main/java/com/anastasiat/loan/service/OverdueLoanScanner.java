@@ -0,0 +1,66 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.loan.repository.LoanRepository;
+import com.anastasiat.loan.repository.OverdueScanRepository;
+import com.anastasiat.loan.repository.OverdueScanRepository.ScanPosition;
+import com.anastasiat.metrics.LibraryMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Marks loans overdue as they pass the loan period. Each run resumes from a persisted watermark and reads only
+ * books that became overdue since, in chunks committed one by one, so a run costs the new overdues and never
+ * rescans the catalog.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueLoanScanner {
+
+    private final OverdueScanRepository overdueScanRepository;
+    private final LoanRepository loanRepository;
+    private final LoanService loanService;
+    private final TransactionTemplate transactionTemplate;
+    private final LibraryMetrics libraryMetrics;
+
+    @Value("${config.loan.overdue-scan.chunk-size}")
+    private int chunkSize;
+
+    @Value("${config.loan.overdue-scan.max-chunks}")
+    private int maxChunks;
+
+    @Scheduled(fixedDelayString = "${config.loan.overdue-scan.interval}",
+            initialDelayString = "${config.loan.overdue-scan.interval}")
+    public void scan() {
+        LocalDate borrowedBefore = loanService.overdueBorrowedBefore();
+        int scanned = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            Integer found = transactionTemplate.execute(status -> scanChunk(borrowedBefore));
+            scanned += found == null ? 0 : found;
+            if (found == null || found < chunkSize) {
+                break;
+            }
+        }
+        if (scanned > 0) {
+            log.info("Найдено просроченных выдач: {}", scanned);
+        }
+    }
+
+    private int scanChunk(LocalDate borrowedBefore) {
+        ScanPosition watermark = overdueScanRepository.lockWatermark();
+        List<ScanPosition> overdue = overdueScanRepository.findOverdueAfter(watermark, borrowedBefore, chunkSize);
+        if (overdue.isEmpty()) {
+            return 0;
+        }
+        libraryMetrics.loansOverdue(loanRepository.markOverdue(overdue.stream().map(ScanPosition::bookId).toList()));
+        overdueScanRepository.advanceWatermark(overdue.get(overdue.size() - 1));
+        return overdue.size();
+    }
+}
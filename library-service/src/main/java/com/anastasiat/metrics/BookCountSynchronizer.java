@@ -0,0 +1,31 @@
+package com.anastasiat.metrics;
+
+import com.anastasiat.book.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCountSynchronizer {
+
+    private final BookService bookService;
+    private final LibraryMetrics libraryMetrics;
+
+    /**
+     * Deltas applied while the counts are read may be lost or doubled; the next run corrects them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${config.metrics.book-count-sync-interval}",
+            initialDelayString = "${config.metrics.book-count-sync-interval}")
+    public void synchronize() {
+        long total = bookService.countBooks();
+        long borrowed = bookService.countBorrowedBooks();
+        libraryMetrics.resetBookCounts(borrowed, total - borrowed);
+        log.debug("Счетчики книг обновлены: выдано {}, доступно {}", borrowed, total - borrowed);
+    }
+}
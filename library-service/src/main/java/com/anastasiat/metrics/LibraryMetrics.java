@@ -0,0 +1,136 @@
+package com.anastasiat.metrics;
+
+import com.anastasiat.exception.AlreadyExistsException;
+import com.anastasiat.exception.InvalidRequestException;
+import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.exception.UnavailableOperationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Domain metrics of the library. Borrowed and available book counts are kept in memory: writers apply deltas
+ * after commit and {@link BookCountSynchronizer} periodically replaces them with counted values, so a scrape
+ * never runs {@code count(*)}.
+ */
+@Component
+public class LibraryMetrics {
+
+    public static final String BORROW = "borrow";
+    public static final String RETURN = "return";
+    public static final String CREATE = "create";
+    public static final String DELETE = "delete";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lockWaitTimer;
+    private final Counter overdueLoans;
+    private final AtomicLong borrowedBooks = new AtomicLong();
+    private final AtomicLong availableBooks = new AtomicLong();
+
+    public LibraryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWaitTimer = Timer.builder("library.book.lock.wait")
+                .description("Time spent acquiring row locks on books")
+                .register(meterRegistry);
+        this.overdueLoans = Counter.builder("library.loans.overdue")
+                .description("Loans detected as overdue")
+                .register(meterRegistry);
+        Gauge.builder("library.books", borrowedBooks, AtomicLong::get)
+                .description("Books in the catalog by state")
+                .tag("state", "borrowed")
+                .register(meterRegistry);
+        Gauge.builder("library.books", availableBooks, AtomicLong::get)
+                .description("Books in the catalog by state")
+                .tag("state", "available")
+                .register(meterRegistry);
+    }
+
+    public <T> T recordOperation(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return action.get();
+        } catch (RuntimeException exception) {
+            outcome = outcome(exception);
+            throw exception;
+        } finally {
+            sample.stop(Timer.builder("library.book.operation")
+                    .description("Book operations of the library service")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordOperation(String operation, Runnable action) {
+        recordOperation(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T recordLockWait(Supplier<T> lock) {
+        return lockWaitTimer.record(lock);
+    }
+
+    public void booksCreated(long count) {
+        afterCommit(() -> availableBooks.addAndGet(count));
+    }
+
+    public void booksDeleted(long count) {
+        afterCommit(() -> availableBooks.addAndGet(-count));
+    }
+
+    public void booksBorrowed(long count) {
+        afterCommit(() -> {
+            availableBooks.addAndGet(-count);
+            borrowedBooks.addAndGet(count);
+        });
+    }
+
+    public void booksReturned(long count) {
+        booksBorrowed(-count);
+    }
+
+    public void loansOverdue(long count) {
+        afterCommit(() -> overdueLoans.increment(count));
+    }
+
+    void resetBookCounts(long borrowed, long available) {
+        borrowedBooks.set(borrowed);
+        availableBooks.set(available);
+    }
+
+    private static String outcome(RuntimeException exception) {
+        if (exception instanceof NotExistsException) {
+            return "not_found";
+        } else if (exception instanceof AlreadyExistsException) {
+            return "already_exists";
+        } else if (exception instanceof UnavailableOperationException) {
+            return "unavailable";
+        } else if (exception instanceof InvalidRequestException) {
+            return "invalid";
+        }
+        return "error";
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.anastasiat.metrics;
+
+import com.anastasiat.outbox.entity.OutboxEvent;
+import com.anastasiat.outbox.repository.OutboxRepository.Backlog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Relay lag of the outbox. The backlog is measured by the relay after each run, so a scrape never queries the
+ * outbox.
+ */
+@Component
+public class OutboxMetrics {
+
+    private final Timer deliveryDelay;
+    private final Counter publishedEvents;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+
+    public OutboxMetrics(MeterRegistry meterRegistry) {
+        this.deliveryDelay = Timer.builder("library.outbox.delivery")
+                .description("Time from appending an event to publishing it")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("library.outbox.published")
+                .description("Events published by the outbox relay")
+                .register(meterRegistry);
+        Gauge.builder("library.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        TimeGauge.builder("library.outbox.lag", oldestPending, TimeUnit.MILLISECONDS, this::lagMillis)
+                .description("Age of the oldest event waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    public void recordPublished(List<OutboxEvent> events) {
+        Instant now = Instant.now();
+        events.forEach(event -> deliveryDelay.record(Duration.between(event.createdAt().toInstant(), now)));
+        publishedEvents.increment(events.size());
+    }
+
+    public void recordBacklog(Backlog backlog) {
+        pendingEvents.set(backlog.pending());
+        oldestPending.set(backlog.oldest() == null ? null : backlog.oldest().toInstant());
+    }
+
+    private double lagMillis(AtomicReference<Instant> oldest) {
+        Instant instant = oldest.get();
+        return instant == null ? 0 : Math.max(0, Duration.between(instant, Instant.now()).toMillis());
+    }
+}
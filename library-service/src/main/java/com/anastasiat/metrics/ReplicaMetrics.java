@@ -0,0 +1,36 @@
+package com.anastasiat.metrics;
+
+import com.anastasiat.replica.ReplicaRoutingDataSource;
+import com.anastasiat.replica.ReplicaRoutingDataSource.Replica;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read routing between the primary and the replicas. Lag and availability are the values of the last
+ * {@link com.anastasiat.replica.ReplicaLagMonitor} check, so a scrape never queries a replica.
+ */
+public class ReplicaMetrics {
+
+    public ReplicaMetrics(ReplicaRoutingDataSource routingDataSource, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("library.replica.reads", routingDataSource, ReplicaRoutingDataSource::getPrimaryReads)
+                .description("Read-only transactions by the node that served them")
+                .tag("target", ReplicaRoutingDataSource.PRIMARY)
+                .register(meterRegistry);
+        FunctionCounter.builder("library.replica.reads", routingDataSource, ReplicaRoutingDataSource::getReplicaReads)
+                .description("Read-only transactions by the node that served them")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        for (Replica replica : routingDataSource.getReplicas()) {
+            Gauge.builder("library.replica.lag", replica, Replica::lagBytes)
+                    .description("Bytes of WAL the replica has not replayed yet, -1 when unknown")
+                    .baseUnit("bytes")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("library.replica.available", replica, r -> r.available() ? 1 : 0)
+                    .description("Whether the replica takes reads")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+}
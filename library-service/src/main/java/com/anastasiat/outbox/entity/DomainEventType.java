@@ -0,0 +1,19 @@
+package com.anastasiat.outbox.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum DomainEventType {
+    BOOK_CREATED("book"),
+    BOOK_DELETED("book"),
+    BOOK_BORROWED("book"),
+    BOOK_RETURNED("book"),
+    AUTHOR_CREATED("author"),
+    AUTHOR_DELETED("author"),
+    READER_CREATED("reader"),
+    READER_DELETED("reader");
+
+    private final String aggregateType;
+}
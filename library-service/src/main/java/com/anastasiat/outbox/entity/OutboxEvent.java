@@ -0,0 +1,15 @@
+package com.anastasiat.outbox.entity;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.OffsetDateTime;
+
+public record OutboxEvent(
+        Long id,
+        String aggregateType,
+        Integer aggregateId,
+        String eventType,
+        @JsonRawValue String payload,
+        OffsetDateTime createdAt
+) {
+}
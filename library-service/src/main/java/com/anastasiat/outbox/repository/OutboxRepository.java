@@ -0,0 +1,105 @@
+package com.anastasiat.outbox.repository;
+
+import com.anastasiat.outbox.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    /**
+     * Matches the rows of {@code library.outbox_partition}.
+     */
+    public static final int PARTITIONS = 8;
+
+    private static final RowMapper<OutboxEvent> EVENT_ROW_MAPPER = (resultSet, rowNum) -> new OutboxEvent(
+            resultSet.getLong("id"),
+            resultSet.getString("aggregate_type"),
+            resultSet.getInt("aggregate_id"),
+            resultSet.getString("event_type"),
+            resultSet.getString("payload"),
+            resultSet.getObject("created_at", OffsetDateTime.class)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * All events of an aggregate share a partition, which a single relay drains in id order.
+     */
+    public static int partitionOf(String aggregateType, Integer aggregateId) {
+        return Math.floorMod(Objects.hash(aggregateType, aggregateId), PARTITIONS);
+    }
+
+    public void append(List<NewEvent> events) {
+        jdbcTemplate.batchUpdate("""
+                        insert into library.outbox (partition, aggregate_type, aggregate_id, event_type, payload)
+                        values (:partition, :aggregateType, :aggregateId, :eventType, cast(:payload as jsonb))
+                        """,
+                events.stream()
+                        .map(event -> new MapSqlParameterSource()
+                                .addValue("partition", partitionOf(event.aggregateType(), event.aggregateId()))
+                                .addValue("aggregateType", event.aggregateType())
+                                .addValue("aggregateId", event.aggregateId())
+                                .addValue("eventType", event.eventType())
+                                .addValue("payload", event.payload()))
+                        .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Locks the partition row until commit; returns false when another relay holds it.
+     */
+    public boolean claimPartition(int partition) {
+        return !jdbcTemplate.queryForList("""
+                        select id
+                        from library.outbox_partition
+                        where id = :partition
+                        for update skip locked
+                        """,
+                new MapSqlParameterSource("partition", partition),
+                Integer.class).isEmpty();
+    }
+
+    public List<OutboxEvent> findBatch(int partition, int limit) {
+        return jdbcTemplate.query("""
+                        select id, aggregate_type, aggregate_id, event_type, payload, created_at
+                        from library.outbox
+                        where partition = :partition
+                        order by id
+                        limit :limit
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("partition", partition)
+                        .addValue("limit", limit),
+                EVENT_ROW_MAPPER);
+    }
+
+    public void delete(Collection<Long> ids) {
+        jdbcTemplate.update("delete from library.outbox where id in (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    public Backlog findBacklog() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) as pending, min(created_at) as oldest from library.outbox",
+                new MapSqlParameterSource(),
+                (resultSet, rowNum) -> new Backlog(
+                        resultSet.getLong("pending"),
+                        resultSet.getObject("oldest", OffsetDateTime.class)
+                ));
+    }
+
+    public record NewEvent(String aggregateType, Integer aggregateId, String eventType, String payload) {
+    }
+
+    public record Backlog(long pending, OffsetDateTime oldest) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.outbox.entity.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a broker: keeps published events and hands them to subscribers. Meant for tests
+ * and local runs, it holds every event in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "config.outbox.sink", havingValue = "in-memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> events = new ArrayList<>();
+    private final List<Consumer<OutboxEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> published) {
+        synchronized (events) {
+            events.addAll(published);
+        }
+        published.forEach(event -> subscribers.forEach(subscriber -> subscriber.accept(event)));
+    }
+
+    public void subscribe(Consumer<OutboxEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public List<OutboxEvent> getEvents() {
+        synchronized (events) {
+            return List.copyOf(events);
+        }
+    }
+
+    public void clear() {
+        synchronized (events) {
+            events.clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.metrics.OutboxMetrics;
+import com.anastasiat.outbox.entity.OutboxEvent;
+import com.anastasiat.outbox.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the outbox into the sink. Each partition is drained by one relay at a time, claimed with
+ * {@code SKIP LOCKED} so concurrent relays move on to other partitions, and in id order, which keeps the events
+ * of an aggregate in order. A batch is deleted in the transaction that published it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxMetrics outboxMetrics;
+
+    @Value("${config.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${config.outbox.max-batches}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${config.outbox.relay-interval}")
+    public void relay() {
+        for (int partition = 0; partition < OutboxRepository.PARTITIONS; partition++) {
+            try {
+                drain(partition);
+            } catch (RuntimeException exception) {
+                log.warn("Не удалось передать события секции {} исходящей очереди", partition, exception);
+            }
+        }
+        outboxMetrics.recordBacklog(outboxRepository.findBacklog());
+    }
+
+    private void drain(int partition) {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer published = transactionTemplate.execute(status -> publishBatch(partition));
+            if (published == null || published < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int publishBatch(int partition) {
+        if (!outboxRepository.claimPartition(partition)) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxRepository.findBatch(partition, batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        outboxSink.publish(events);
+        outboxRepository.delete(events.stream().map(OutboxEvent::id).toList());
+        outboxMetrics.recordPublished(events);
+        return events.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.outbox.entity.DomainEventType;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Appends domain events to the outbox in the caller's transaction, so an event is relayed exactly when the
+ * change it describes commits.
+ */
+public interface OutboxService {
+
+    void append(DomainEventType type, Integer aggregateId, Object payload);
+
+    void appendAll(DomainEventType type, Collection<Integer> aggregateIds, Function<Integer, Object> payload);
+}
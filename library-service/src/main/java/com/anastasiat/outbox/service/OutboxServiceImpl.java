@@ -0,0 +1,44 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.repository.OutboxRepository;
+import com.anastasiat.outbox.repository.OutboxRepository.NewEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void append(DomainEventType type, Integer aggregateId, Object payload) {
+        appendAll(type, List.of(aggregateId), id -> payload);
+    }
+
+    @Override
+    public void appendAll(DomainEventType type, Collection<Integer> aggregateIds, Function<Integer, Object> payload) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        outboxRepository.append(aggregateIds.stream()
+                .map(id -> new NewEvent(type.getAggregateType(), id, type.name(), toJson(payload.apply(id))))
+                .toList());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.outbox.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed events. The relay deletes a batch once {@link #publish} returns and retries it when
+ * it throws, so delivery is at least once: a batch published before a failed commit is published again.
+ */
+public interface OutboxSink {
+
+    /**
+     * Returns only when the events are durable at the destination, in the given order.
+     */
+    void publish(List<OutboxEvent> events);
+}
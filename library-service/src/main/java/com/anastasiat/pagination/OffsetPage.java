@@ -0,0 +1,32 @@
+package com.anastasiat.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Content of an offset page with totals as requested by a {@link TotalMode}; totals are {@code null} when not
+ * requested.
+ */
+public record OffsetPage<T>(List<T> content, Long totalElements, Integer totalPages, boolean last) {
+
+    public static <T> OffsetPage<T> exact(Page<T> page) {
+        return new OffsetPage<>(page.getContent(), page.getTotalElements(), page.getTotalPages(), page.isLast());
+    }
+
+    public static <T> OffsetPage<T> withoutTotal(Slice<T> slice) {
+        return new OffsetPage<>(slice.getContent(), null, null, slice.isLast());
+    }
+
+    /**
+     * Never reports fewer rows than the slice has proven to exist, since the estimate trails inserts.
+     */
+    public static <T> OffsetPage<T> approximate(Slice<T> slice, long estimatedTotal) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        long totalElements = Math.max(estimatedTotal, seen);
+        int size = slice.getSize();
+        int totalPages = size == 0 ? 1 : (int) ((totalElements + size - 1) / size);
+        return new OffsetPage<>(slice.getContent(), totalElements, totalPages, slice.isLast());
+    }
+}
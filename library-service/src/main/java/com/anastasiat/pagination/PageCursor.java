@@ -0,0 +1,61 @@
+package com.anastasiat.pagination;
+
+import com.anastasiat.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursor for keyset (seek) pagination.
+ * <p>
+ * A cursor carries the sort key values of the last row of a page, so the next page is fetched
+ * with {@code where (key...) > (cursor...)} instead of an offset. Clients must treat it as an opaque string.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(keys[i]);
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int keyCount) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> keys = List.of(decoded.split("\\" + SEPARATOR, -1));
+            if (keys.size() != keyCount) {
+                throw new InvalidRequestException("library.errors.page.cursor_invalid");
+            }
+            return keys;
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidRequestException("library.errors.page.cursor_invalid");
+        }
+    }
+
+    /**
+     * Returns the id stored in a primary key cursor, or {@code 0} for the first page.
+     */
+    public static int decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(decode(cursor, 1).get(0));
+        } catch (NumberFormatException exception) {
+            throw new InvalidRequestException("library.errors.page.cursor_invalid");
+        }
+    }
+}
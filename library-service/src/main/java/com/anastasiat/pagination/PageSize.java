@@ -0,0 +1,33 @@
+package com.anastasiat.pagination;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import jakarta.validation.ReportAsSingleViolation;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bounds the {@code size} of a requested page: an empty page has no last row to build the next cursor from,
+ * and a huge one would read a whole table in one go.
+ */
+@Min(1)
+@Max(PageSize.MAX)
+@ReportAsSingleViolation
+@Constraint(validatedBy = {})
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PageSize {
+
+    int MAX = 100;
+
+    String message() default "{library.errors.page.size_invalid}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,26 @@
+package com.anastasiat.pagination;
+
+/**
+ * How an offset page reports the size of the whole list.
+ */
+public enum TotalMode {
+    /**
+     * Runs {@code count(*)} next to the page query.
+     */
+    EXACT,
+    /**
+     * Takes the row count from the planner statistics, so it may lag behind recent writes.
+     */
+    APPROXIMATE,
+    /**
+     * Leaves totals out and reads one extra row to tell whether a next page exists.
+     */
+    NONE;
+
+    public static TotalMode of(boolean withTotal, boolean approximateTotal) {
+        if (!withTotal) {
+            return NONE;
+        }
+        return approximateTotal ? APPROXIMATE : EXACT;
+    }
+}
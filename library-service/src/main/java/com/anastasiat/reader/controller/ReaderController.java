@@ -1,16 +1,24 @@
 package com.anastasiat.reader.controller;
 
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.pagination.PageSize;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.controller.request.CreateReaderRequest;
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.entity.ReaderCursorPage;
 import com.anastasiat.reader.entity.ReaderPage;
 import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.version.service.TableVersionService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Map;
@@ -21,6 +29,8 @@ import java.util.Map;
 public class ReaderController {
 
     private final ReaderService readerService;
+    private final BookService bookService;
+    private final TableVersionService tableVersionService;
 
     @GetMapping("/{readerId}")
     public Reader findReaderById(@PathVariable("readerId") Integer readerId) {
@@ -28,17 +38,68 @@ public class ReaderController {
                 .orElseThrow(() -> new NotExistsException("library.errors.reader.not_found"));
     }
 
+    @GetMapping("/{readerId}/books")
+    public BookSummaryCursorPage findReaderBooks(
+            @PathVariable("readerId") Integer readerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (webRequest.checkNotModified("v" + tableVersionService.findVersion(
+                TableVersionService.BOOK, TableVersionService.AUTHOR, TableVersionService.READER))) {
+            return null;
+        }
+        if (readerService.findReaderById(readerId).isEmpty()) {
+            throw new NotExistsException("library.errors.reader.not_found");
+        }
+        return bookService.findBooksByReaderId(readerId, after, size);
+    }
+
     @GetMapping("all")
-    public Iterable<Reader> findAllReaders() {
+    public Iterable<Reader> findAllReaders(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         return readerService.findAllReaders();
     }
 
     @GetMapping
     public ReaderPage findReaders(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "{library.errors.page.number_invalid}") int page,
+            @RequestParam(defaultValue = "10") @PageSize int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            WebRequest webRequest
     ) {
-        return readerService.findAllReaders(page, size);
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return readerService.findAllReaders(page, size, TotalMode.of(withTotal, approximateTotal));
+    }
+
+    @GetMapping(params = "after")
+    public ReaderCursorPage findReadersAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return readerService.findAllReaders(after, size);
+    }
+
+    @GetMapping("search")
+    public ReaderCursorPage searchReaders(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @PageSize int size,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return readerService.searchReaders(q, after, size);
     }
 
     @PostMapping
@@ -74,4 +135,8 @@ public class ReaderController {
         return ResponseEntity.noContent()
                 .build();
     }
+
+    private boolean isNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified("v" + tableVersionService.findVersion(TableVersionService.READER));
+    }
 }
@@ -0,0 +1,13 @@
+package com.anastasiat.reader.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReaderCursorPage {
+    private List<Reader> content;
+    private String nextCursor;
+}
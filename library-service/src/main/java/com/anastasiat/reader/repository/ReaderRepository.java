@@ -1,11 +1,19 @@
 package com.anastasiat.reader.repository;
 
 import com.anastasiat.reader.entity.Reader;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,5 +21,37 @@ public interface ReaderRepository extends CrudRepository<Reader, Integer> {
 
     Page<Reader> findAll(Pageable pageable);
 
-    Optional<Reader> findByEmail(String email);
+    Slice<Reader> findAllBy(Pageable pageable);
+
+    List<Reader> findByIdGreaterThanOrderById(Integer id, Limit limit);
+
+    /**
+     * Inserts the reader unless the email is taken; returns the new id, or nothing for a duplicate email.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "library.reader"))
+    @Query(value = """
+            insert into library.reader (first_name, last_name, middle_name, email)
+            values (:firstName, :lastName, cast(:middleName as varchar), :email)
+            on conflict (email) do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Integer> insertIfAbsent(
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("middleName") String middleName,
+            @Param("email") String email
+    );
+
+    /**
+     * Substring match served by the trigram indexes on last name, first name and email.
+     */
+    @Query("""
+            select r from Reader r
+            where r.id > :afterId
+              and (r.lastName ilike :pattern escape '\\'
+                or r.firstName ilike :pattern escape '\\'
+                or r.email ilike :pattern escape '\\')
+            order by r.id
+            """)
+    List<Reader> search(@Param("pattern") String pattern, @Param("afterId") Integer afterId, Limit limit);
 }
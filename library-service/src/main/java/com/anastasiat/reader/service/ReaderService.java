@@ -1,7 +1,9 @@
 package com.anastasiat.reader.service;
 
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.entity.ReaderCursorPage;
 import com.anastasiat.reader.entity.ReaderPage;
+import com.anastasiat.pagination.TotalMode;
 
 import java.util.Optional;
 
@@ -11,7 +13,11 @@ public interface ReaderService {
 
     Iterable<Reader> findAllReaders();
 
-    ReaderPage findAllReaders(int page, int size);
+    ReaderPage findAllReaders(int page, int size, TotalMode totalMode);
+
+    ReaderCursorPage findAllReaders(String after, int size);
+
+    ReaderCursorPage searchReaders(String query, String after, int size);
 
     Reader createReader(String firstName, String lastName, String middleName, String email);
 
@@ -1,19 +1,33 @@
 package com.anastasiat.reader.service;
 
 import com.anastasiat.book.service.BookService;
+import com.anastasiat.config.CacheConfig;
 import com.anastasiat.exception.AlreadyExistsException;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.service.OutboxService;
+import com.anastasiat.pagination.OffsetPage;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.entity.ReaderCursorPage;
 import com.anastasiat.reader.entity.ReaderPage;
 import com.anastasiat.reader.repository.ReaderRepository;
+import com.anastasiat.statistics.service.TableStatisticsService;
+import com.anastasiat.version.service.TableVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -23,49 +37,84 @@ public class ReaderServiceImpl implements ReaderService {
 
     private final ReaderRepository readerRepository;
     private final BookService bookService;
+    private final OutboxService outboxService;
+    private final TableStatisticsService tableStatisticsService;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.READERS, unless = "#result == null")
     public Optional<Reader> findReaderById(Integer readerId) {
         return readerRepository.findById(readerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Iterable<Reader> findAllReaders() {
         return readerRepository.findAll();
     }
 
     @Override
-    public ReaderPage findAllReaders(int page, int size) {
-        Page<Reader> readerPage = readerRepository.findAll(PageRequest.of(page, size));
+    @Transactional(readOnly = true)
+    public ReaderPage findAllReaders(int page, int size, TotalMode totalMode) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        OffsetPage<Reader> readerPage = switch (totalMode) {
+            case EXACT -> OffsetPage.exact(readerRepository.findAll(pageRequest));
+            case APPROXIMATE -> OffsetPage.approximate(readerRepository.findAllBy(pageRequest),
+                    tableStatisticsService.estimateRows(TableVersionService.READER));
+            case NONE -> OffsetPage.withoutTotal(readerRepository.findAllBy(pageRequest));
+        };
         return new ReaderPage(
-                readerPage.getContent(),
-                readerPage.getTotalElements(),
-                readerPage.getTotalPages(),
-                readerPage.isLast()
+                readerPage.content(),
+                readerPage.totalElements(),
+                readerPage.totalPages(),
+                readerPage.last()
         );
     }
 
     @Override
-    @Transactional
-    public Reader createReader(String firstName, String lastName, String middleName, String email) {
+    @Transactional(readOnly = true)
+    public ReaderCursorPage findAllReaders(String after, int size) {
+        List<Reader> readers = readerRepository.findByIdGreaterThanOrderById(PageCursor.decodeId(after), Limit.of(size + 1));
+        if (readers.size() <= size) {
+            return new ReaderCursorPage(readers, null);
+        }
+        List<Reader> content = readers.subList(0, size);
+        return new ReaderCursorPage(content, PageCursor.encode(content.get(size - 1).getId()));
+    }
 
-        if (readerRepository.findByEmail(email).isPresent()) {
-            throw new AlreadyExistsException("library.errors.reader.already_exists");
+    @Override
+    @Transactional(readOnly = true)
+    public ReaderCursorPage searchReaders(String query, String after, int size) {
+        if (query == null || query.isBlank()) {
+            return findAllReaders(after, size);
         }
+        String pattern = "%" + query.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        List<Reader> readers = readerRepository.search(pattern, PageCursor.decodeId(after), Limit.of(size + 1));
+        if (readers.size() <= size) {
+            return new ReaderCursorPage(readers, null);
+        }
+        List<Reader> content = readers.subList(0, size);
+        return new ReaderCursorPage(content, PageCursor.encode(content.get(size - 1).getId()));
+    }
 
-        Reader reader = new Reader();
-        reader.setFirstName(firstName);
-        reader.setLastName(lastName);
-        Optional.ofNullable(middleName).ifPresent(reader::setMiddleName);
-        reader.setEmail(email);
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.READERS, key = "#result.id")
+    public Reader createReader(String firstName, String lastName, String middleName, String email) {
+        Integer readerId = readerRepository.insertIfAbsent(firstName, lastName, middleName, email)
+                .orElseThrow(() -> new AlreadyExistsException("library.errors.reader.already_exists"));
 
-        reader = readerRepository.save(reader);
+        Reader reader = new Reader(readerId, firstName, lastName, middleName, email);
+        outboxService.append(DomainEventType.READER_CREATED, reader.getId(), reader);
         log.info("Читатель создан id {}", reader.getId());
         return reader;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.READERS)
     public void deleteReaderById(Integer readerId) {
         readerRepository.findById(readerId)
                 .orElseThrow(() -> new NotExistsException("library.errors.reader.not_found"));
@@ -74,6 +123,7 @@ public class ReaderServiceImpl implements ReaderService {
             throw new UnavailableOperationException("library.errors.reader.delete_unavailable");
         }
         readerRepository.deleteById(readerId);
+        outboxService.append(DomainEventType.READER_DELETED, readerId, Map.of());
         log.info("Читатель удален id {}", readerId);
     }
 }
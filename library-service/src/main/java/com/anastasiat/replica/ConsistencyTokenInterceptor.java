@@ -0,0 +1,29 @@
+package com.anastasiat.replica;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Reads the consistency token of a request. Without a token any available replica may serve the reads; a
+ * malformed token is rejected before the handler runs.
+ */
+public class ConsistencyTokenInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String token = request.getHeader(ReadConsistency.TOKEN_HEADER);
+        ReadConsistency.begin(token == null || token.isBlank() ? 0 : WalPosition.parse(token.trim()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadConsistency.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadConsistency.end();
+    }
+}
@@ -0,0 +1,47 @@
+package com.anastasiat.replica;
+
+/**
+ * Read routing state of the current HTTP request: the WAL position its reads must see and the node its first
+ * read went to. Later reads of the request stay on that node, so a list version read before the data is never
+ * newer than the data, even across replicas with different lag.
+ */
+public final class ReadConsistency {
+
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<ReadConsistency> CURRENT = new ThreadLocal<>();
+
+    private final long requiredPosition;
+    private String pinnedTarget;
+
+    private ReadConsistency(long requiredPosition) {
+        this.requiredPosition = requiredPosition;
+    }
+
+    public static void begin(long requiredPosition) {
+        CURRENT.set(new ReadConsistency(requiredPosition));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns {@code null} outside a request, e.g. in scheduled jobs and asynchronous exports.
+     */
+    public static ReadConsistency current() {
+        return CURRENT.get();
+    }
+
+    public long requiredPosition() {
+        return requiredPosition;
+    }
+
+    String pinnedTarget() {
+        return pinnedTarget;
+    }
+
+    void pin(String target) {
+        pinnedTarget = target;
+    }
+}
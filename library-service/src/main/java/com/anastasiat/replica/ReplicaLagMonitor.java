@@ -0,0 +1,92 @@
+package com.anastasiat.replica;
+
+import com.anastasiat.replica.ReplicaRoutingDataSource.Replica;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the replay position of every replica with the primary WAL position. A replica that is unreachable,
+ * not in recovery or more than {@code maxLagBytes} behind stops taking reads until a later check finds it
+ * caught up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final Map<Replica, JdbcTemplate> replicaJdbcTemplates = new LinkedHashMap<>();
+    private final long maxLagBytes;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, long maxLagBytes) {
+        this.routingDataSource = routingDataSource;
+        this.primaryJdbcTemplate = new JdbcTemplate(routingDataSource.getPrimary());
+        routingDataSource.getReplicas().forEach(replica ->
+                replicaJdbcTemplates.put(replica, new JdbcTemplate(replica.dataSource())));
+        this.maxLagBytes = maxLagBytes;
+    }
+
+    @Scheduled(fixedDelayString = "${config.replica.check-interval}")
+    public void checkReplicas() {
+        long primaryPosition;
+        try {
+            primaryPosition = WalPosition.parse(
+                    primaryJdbcTemplate.queryForObject("select pg_current_wal_lsn()::text", String.class));
+        } catch (DataAccessException exception) {
+            log.warn("Не удалось получить позицию WAL основного сервера", exception);
+            return;
+        }
+        replicaJdbcTemplates.forEach((replica, jdbcTemplate) -> checkReplica(replica, jdbcTemplate, primaryPosition));
+    }
+
+    private void checkReplica(Replica replica, JdbcTemplate jdbcTemplate, long primaryPosition) {
+        boolean wasAvailable = replica.available();
+        String replayed;
+        try {
+            replayed = jdbcTemplate.queryForObject("select pg_last_wal_replay_lsn()::text", String.class);
+        } catch (DataAccessException exception) {
+            replica.update(-1, -1, false);
+            if (wasAvailable) {
+                log.warn("Реплика {} недоступна", replica.name(), exception);
+            }
+            return;
+        }
+        if (replayed == null) {
+            replica.update(-1, -1, false);
+            if (wasAvailable) {
+                log.warn("Сервер {} не находится в режиме реплики", replica.name());
+            }
+            return;
+        }
+        long replayedPosition = WalPosition.parse(replayed);
+        long lagBytes = Math.max(0, primaryPosition - replayedPosition);
+        boolean available = lagBytes <= maxLagBytes;
+        replica.update(replayedPosition, lagBytes, available);
+        if (wasAvailable && !available) {
+            log.warn("Реплика {} отстает на {} байт, чтение переведено на основной сервер", replica.name(), lagBytes);
+        } else if (!wasAvailable && available) {
+            log.info("Реплика {} принимает чтение, отставание {} байт", replica.name(), lagBytes);
+        }
+    }
+
+    /**
+     * Replica pools are created next to the primary pool rather than as beans, so they are closed here.
+     */
+    @PreDestroy
+    public void closeReplicas() {
+        for (Replica replica : routingDataSource.getReplicas()) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception exception) {
+                    log.warn("Не удалось закрыть пул соединений реплики {}", replica.name(), exception);
+                }
+            }
+        }
+    }
+}
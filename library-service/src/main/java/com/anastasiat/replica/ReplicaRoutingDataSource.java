@@ -0,0 +1,225 @@
+package com.anastasiat.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to a replica that has replayed the request's consistency token, everything else
+ * to the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the read-only flag of a transaction is only known once it has begun, after the connection was asked for.
+ * <p>
+ * A request that commits a write gets the primary WAL position back in {@link ReadConsistency#TOKEN_HEADER};
+ * passing it on later requests keeps their reads off replicas that have not replayed the write yet.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            issueTokenAfterCommit();
+            return primary.getConnection();
+        }
+        ReadConsistency consistency = ReadConsistency.current();
+        Replica replica = chooseReplica(consistency);
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource().getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException exception) {
+                replica.markUnavailable();
+                log.warn("Реплика {} недоступна, чтение переведено на основной сервер", replica.name(), exception);
+            }
+        }
+        if (consistency != null) {
+            consistency.pin(PRIMARY);
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    /**
+     * A request stays on the node of its first read; a pinned replica that fell behind or away sends the rest of
+     * the request to the primary, which is ahead of every replica.
+     */
+    private Replica chooseReplica(ReadConsistency consistency) {
+        long requiredPosition = consistency == null ? 0 : consistency.requiredPosition();
+        String pinned = consistency == null ? null : consistency.pinnedTarget();
+        if (PRIMARY.equals(pinned)) {
+            return null;
+        }
+        if (pinned != null) {
+            return replicas.stream()
+                    .filter(replica -> replica.name().equals(pinned) && replica.canServe(requiredPosition))
+                    .findFirst()
+                    .orElse(null);
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.canServe(requiredPosition)) {
+                if (consistency != null) {
+                    consistency.pin(replica.name());
+                }
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Only writes made for an API request get a token, and the rest of that request reads from the primary;
+     * scheduled jobs such as the outbox relay and partition maintenance never ask for the WAL position.
+     */
+    private void issueTokenAfterCommit() {
+        ReadConsistency consistency = ReadConsistency.current();
+        if (consistency == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null) {
+            return;
+        }
+        consistency.pin(PRIMARY);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (attributes.getResponse().isCommitted()) {
+                    return;
+                }
+                String position = primaryJdbcTemplate.queryForObject("select pg_current_wal_lsn()::text", String.class);
+                attributes.getResponse().setHeader(ReadConsistency.TOKEN_HEADER, position);
+            }
+        });
+    }
+
+    /**
+     * The routing data source takes the place of the auto-configured pool bean, so the container no longer
+     * closes that pool by itself; the replica pools are not beans at all.
+     */
+    @Override
+    public void close() {
+        closePool(PRIMARY, primary);
+        replicas.forEach(replica -> closePool(replica.name(), replica.dataSource()));
+    }
+
+    private void closePool(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable pool) {
+            try {
+                pool.close();
+            } catch (Exception exception) {
+                log.warn("Не удалось закрыть пул соединений {}", name, exception);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Replay position and availability are refreshed by {@link ReplicaLagMonitor}; a replica is unavailable
+     * until its first check.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long replayedPosition = -1;
+        private volatile long lagBytes = -1;
+        private volatile boolean available;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public long lagBytes() {
+            return lagBytes;
+        }
+
+        public boolean available() {
+            return available;
+        }
+
+        boolean canServe(long requiredPosition) {
+            return available && replayedPosition >= requiredPosition;
+        }
+
+        void update(long replayedPosition, long lagBytes, boolean available) {
+            this.replayedPosition = replayedPosition;
+            this.lagBytes = lagBytes;
+            this.available = available;
+        }
+
+        void markUnavailable() {
+            available = false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.anastasiat.replica;
+
+import com.anastasiat.exception.InvalidRequestException;
+
+/**
+ * Postgres WAL positions ({@code pg_lsn}, printed as {@code X/Y}) as comparable longs.
+ */
+public final class WalPosition {
+
+    private WalPosition() {
+    }
+
+    public static long parse(String lsn) {
+        int separator = lsn == null ? -1 : lsn.indexOf('/');
+        if (separator <= 0 || separator == lsn.length() - 1) {
+            throw new InvalidRequestException("library.errors.consistency_token_invalid");
+        }
+        try {
+            long high = Long.parseUnsignedLong(lsn.substring(0, separator), 16);
+            long low = Long.parseUnsignedLong(lsn.substring(separator + 1), 16);
+            if (high > 0xFFFFFFFFL || low > 0xFFFFFFFFL) {
+                throw new InvalidRequestException("library.errors.consistency_token_invalid");
+            }
+            return high << 32 | low;
+        } catch (NumberFormatException exception) {
+            throw new InvalidRequestException("library.errors.consistency_token_invalid");
+        }
+    }
+
+    public static String format(long position) {
+        return Long.toHexString(position >>> 32).toUpperCase() + "/" + Long.toHexString(position & 0xFFFFFFFFL).toUpperCase();
+    }
+}
@@ -0,0 +1,27 @@
+package com.anastasiat.statistics.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the row count kept by autovacuum and {@code analyze}, or 0 for a table never analyzed.
+     */
+    public long estimateRows(String tableName) {
+        Long rows = jdbcTemplate.queryForObject("""
+                        select coalesce(max(greatest(reltuples, 0)), 0)::bigint
+                        from pg_catalog.pg_class
+                        where oid = to_regclass('library.' || :tableName)
+                        """,
+                new MapSqlParameterSource("tableName", tableName),
+                Long.class);
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,9 @@
+package com.anastasiat.statistics.service;
+
+public interface TableStatisticsService {
+
+    /**
+     * Returns the planner's row count estimate for a table of the library schema.
+     */
+    long estimateRows(String tableName);
+}
@@ -0,0 +1,29 @@
+package com.anastasiat.statistics.service;
+
+import com.anastasiat.statistics.repository.TableStatisticsRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+public class TableStatisticsServiceImpl implements TableStatisticsService {
+
+    private final LoadingCache<String, Long> estimates;
+
+    public TableStatisticsServiceImpl(
+            TableStatisticsRepository tableStatisticsRepository,
+            @Value("${config.statistics.row-estimate-ttl}") Duration rowEstimateTtl
+    ) {
+        this.estimates = Caffeine.newBuilder()
+                .expireAfterWrite(rowEstimateTtl)
+                .build(tableStatisticsRepository::estimateRows);
+    }
+
+    @Override
+    public long estimateRows(String tableName) {
+        return estimates.get(tableName);
+    }
+}
@@ -0,0 +1,24 @@
+package com.anastasiat.version.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class TableVersionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long sumVersions(Collection<String> tableNames) {
+        Long version = jdbcTemplate.queryForObject(
+                "select coalesce(sum(version), 0) from library.table_version where table_name in (:tableNames)",
+                Map.of("tableNames", tableNames),
+                Long.class
+        );
+        return version == null ? 0 : version;
+    }
+}
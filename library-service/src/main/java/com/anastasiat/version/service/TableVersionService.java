@@ -0,0 +1,14 @@
+package com.anastasiat.version.service;
+
+public interface TableVersionService {
+
+    String BOOK = "book";
+    String AUTHOR = "author";
+    String READER = "reader";
+
+    /**
+     * Returns a counter that grows with every committed write to any of the tables. Read it before the data it
+     * describes: a response may then carry newer data than its version, never older.
+     */
+    long findVersion(String... tableNames);
+}
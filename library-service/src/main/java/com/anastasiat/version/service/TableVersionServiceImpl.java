@@ -0,0 +1,25 @@
+package com.anastasiat.version.service;
+
+import com.anastasiat.version.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TableVersionServiceImpl implements TableVersionService {
+
+    private final TableVersionRepository tableVersionRepository;
+
+    /**
+     * Read-only so that, with replicas configured, the version is read from the node that serves the rest of the
+     * request and never runs ahead of the data it validates.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long findVersion(String... tableNames) {
+        return tableVersionRepository.sumVersions(List.of(tableNames));
+    }
+}
@@ -0,0 +1,37 @@
+package com.anastasiat.waitlist.controller;
+
+import com.anastasiat.waitlist.entity.WaitlistPosition;
+import com.anastasiat.waitlist.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("library-api/books/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    public WaitlistPosition enqueue(@RequestParam Integer readerId, @RequestParam Integer bookId) {
+        return waitlistService.enqueue(readerId, bookId);
+    }
+
+    @GetMapping
+    public WaitlistPosition findPosition(@RequestParam Integer readerId, @RequestParam Integer bookId) {
+        return waitlistService.findPosition(readerId, bookId);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> leave(@RequestParam Integer readerId, @RequestParam Integer bookId) {
+        waitlistService.leave(readerId, bookId);
+        return ResponseEntity.noContent()
+                .build();
+    }
+}
@@ -0,0 +1,4 @@
+package com.anastasiat.waitlist.entity;
+
+public record WaitlistPosition(Integer bookId, Integer readerId, int position) {
+}
@@ -0,0 +1,80 @@
+package com.anastasiat.waitlist.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class WaitlistRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public boolean enqueue(Integer bookId, Integer readerId) {
+        return jdbcTemplate.update("""
+                        insert into library.waitlist (book_id, reader_id)
+                        values (:bookId, :readerId)
+                        on conflict (book_id, reader_id) do nothing
+                        """,
+                parameters(bookId, readerId)) > 0;
+    }
+
+    public boolean remove(Integer bookId, Integer readerId) {
+        return jdbcTemplate.update("""
+                        delete from library.waitlist
+                        where book_id = :bookId and reader_id = :readerId
+                        """,
+                parameters(bookId, readerId)) > 0;
+    }
+
+    /**
+     * Returns 0 when the reader is not queued for the book.
+     */
+    public int findPosition(Integer bookId, Integer readerId) {
+        Integer position = jdbcTemplate.queryForObject("""
+                        select count(*)
+                        from library.waitlist
+                        where book_id = :bookId
+                          and id <= (select id from library.waitlist where book_id = :bookId and reader_id = :readerId)
+                        """,
+                parameters(bookId, readerId),
+                Integer.class);
+        return position == null ? 0 : position;
+    }
+
+    /**
+     * Removes the head of each book's queue and returns book id to reader id. A head locked by a reader
+     * leaving the queue concurrently is skipped rather than waited for, so the book goes to the next reader.
+     */
+    public Map<Integer, Integer> pollHeads(Collection<Integer> bookIds) {
+        Map<Integer, Integer> heads = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                        delete from library.waitlist w
+                        using (select head.id
+                               from unnest(cast(:bookIds as integer[])) as queue(book_id)
+                                        cross join lateral (select id
+                                                            from library.waitlist
+                                                            where book_id = queue.book_id
+                                                            order by id
+                                                            limit 1 for update skip locked) head) polled
+                        where w.id = polled.id
+                        returning w.book_id, w.reader_id
+                        """,
+                new MapSqlParameterSource("bookIds", bookIds.toArray(Integer[]::new)),
+                resultSet -> {
+                    heads.put(resultSet.getInt("book_id"), resultSet.getInt("reader_id"));
+                });
+        return heads;
+    }
+
+    private static MapSqlParameterSource parameters(Integer bookId, Integer readerId) {
+        return new MapSqlParameterSource()
+                .addValue("bookId", bookId)
+                .addValue("readerId", readerId);
+    }
+}
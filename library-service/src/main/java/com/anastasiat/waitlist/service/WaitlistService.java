@@ -0,0 +1,22 @@
+package com.anastasiat.waitlist.service;
+
+import com.anastasiat.waitlist.entity.WaitlistPosition;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface WaitlistService {
+
+    WaitlistPosition enqueue(Integer readerId, Integer bookId);
+
+    void leave(Integer readerId, Integer bookId);
+
+    WaitlistPosition findPosition(Integer readerId, Integer bookId);
+
+    /**
+     * Dequeues the next reader of each book; the caller must hold the book rows locked.
+     *
+     * @return book id to the id of the reader it is handed to
+     */
+    Map<Integer, Integer> pollNext(Collection<Integer> bookIds);
+}
@@ -0,0 +1,82 @@
+package com.anastasiat.waitlist.service;
+
+import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.waitlist.entity.WaitlistPosition;
+import com.anastasiat.waitlist.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookService bookService;
+    private final ReaderService readerService;
+
+    /**
+     * Locks the book row, so a reader cannot join the queue of a book that is being returned and would never
+     * be handed it.
+     */
+    @Override
+    @Transactional
+    public WaitlistPosition enqueue(Integer readerId, Integer bookId) {
+        readerService.findReaderById(readerId)
+                .orElseThrow(() -> new NotExistsException("library.errors.reader.not_found"));
+        Book book = bookService.findBookByIdForUpdate(bookId)
+                .orElseThrow(() -> new NotExistsException("library.errors.book.not_found"));
+
+        if (!book.getIsBorrowed()) {
+            throw new UnavailableOperationException("library.errors.waitlist.book_available");
+        }
+        if (book.getReader() != null && readerId.equals(book.getReader().getId())) {
+            throw new UnavailableOperationException("library.errors.waitlist.book_held");
+        }
+
+        if (waitlistRepository.enqueue(bookId, readerId)) {
+            log.info("Читатель id {} встал в очередь на книгу id {}", readerId, bookId);
+        }
+        return new WaitlistPosition(bookId, readerId, waitlistRepository.findPosition(bookId, readerId));
+    }
+
+    @Override
+    @Transactional
+    public void leave(Integer readerId, Integer bookId) {
+        if (!waitlistRepository.remove(bookId, readerId)) {
+            throw new NotExistsException("library.errors.waitlist.not_found");
+        }
+        log.info("Читатель id {} вышел из очереди на книгу id {}", readerId, bookId);
+    }
+
+    /**
+     * Counted in the database on every call through {@code (book_id, id)}: an in-memory copy of the queue would
+     * miss changes made on other instances and could be refilled with a queue read just before a commit.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public WaitlistPosition findPosition(Integer readerId, Integer bookId) {
+        int position = waitlistRepository.findPosition(bookId, readerId);
+        if (position == 0) {
+            throw new NotExistsException("library.errors.waitlist.not_found");
+        }
+        return new WaitlistPosition(bookId, readerId, position);
+    }
+
+    @Override
+    public Map<Integer, Integer> pollNext(Collection<Integer> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        return waitlistRepository.pollHeads(bookIds);
+    }
+}
@@ -0,0 +1,22 @@
+-- rows live until relayed: a low vacuum threshold keeps the drained head of the index free of dead tuples
+create table library.outbox
+(
+    id             bigserial primary key,
+    partition      smallint    not null,
+    aggregate_type varchar(20) not null,
+    aggregate_id   integer     not null,
+    event_type     varchar(40) not null,
+    payload        jsonb       not null,
+    created_at     timestamptz not null default now()
+) with (autovacuum_vacuum_scale_factor = 0, autovacuum_vacuum_threshold = 1000);
+
+create index idx_outbox_partition on library.outbox (partition, id);
+
+-- one row per ordering partition: a relay holds it locked while publishing that partition's batch
+create table library.outbox_partition
+(
+    id smallint primary key
+);
+
+insert into library.outbox_partition (id)
+select generate_series(0, 7);
@@ -0,0 +1,8 @@
+-- a reader's loans and an author's bibliography are paged by (owner, id) and read their list columns
+-- from the index; the single-column owner indexes are prefixes of these and go away
+create index concurrently if not exists idx_book_reader_id_id
+    on library.book (reader_id, id) include (author_id, title, is_borrowed, borrow_date) where reader_id is not null;
+create index concurrently if not exists idx_book_author_id_id
+    on library.book (author_id, id) include (title, is_borrowed, borrow_date);
+drop index concurrently if exists library.idx_book_reader_id;
+drop index concurrently if exists library.idx_book_author_id;
@@ -0,0 +1,89 @@
+-- Authors created by racing requests are merged into the oldest copy. Their books are grouped by title under
+-- that copy; each group keeps one book, preferring one the oldest copy already has, and the others are merged
+-- into it: loans and waitlist entries move over, and a borrowed duplicate hands its borrow state over.
+create temporary table author_book_merge as
+with canonical as (select id,
+                          min(id) over (partition by last_name, first_name, middle_name, birth_date) as canonical_id,
+                          count(*) over (partition by last_name, first_name, middle_name, birth_date) as copies
+                   from library.author)
+select b.id as book_id,
+       c.canonical_id,
+       first_value(b.id) over (partition by c.canonical_id, b.title
+                               order by b.author_id = c.canonical_id desc, b.id) as survivor_id
+from library.book b
+         join canonical c on c.id = b.author_id
+where c.copies > 1;
+
+-- two borrowed copies of one book cannot be merged without losing a loan
+do
+$$
+    declare
+        conflicts text;
+    begin
+        select string_agg(ids, '; ')
+        into conflicts
+        from (select string_agg(m.book_id::text, ', ' order by m.book_id) as ids
+              from author_book_merge m
+                       join library.book b on b.id = m.book_id
+              where b.is_borrowed
+              group by m.survivor_id
+              having count(*) > 1) borrowed;
+        if conflicts is not null then
+            raise exception 'Книги-дубликаты взяты разными читателями, объедините их вручную: %', conflicts;
+        end if;
+    end
+$$;
+
+update library.book s
+set is_borrowed = true,
+    borrow_date = d.borrow_date,
+    reader_id   = d.reader_id,
+    version     = s.version + 1
+from author_book_merge m
+         join library.book d on d.id = m.book_id
+where s.id = m.survivor_id
+  and m.book_id <> m.survivor_id
+  and d.is_borrowed;
+
+update library.loan l
+set book_id = m.survivor_id
+from author_book_merge m
+where l.book_id = m.book_id
+  and m.book_id <> m.survivor_id;
+
+insert into library.waitlist (book_id, reader_id, enqueued_at)
+select m.survivor_id, w.reader_id, w.enqueued_at
+from library.waitlist w
+         join author_book_merge m on m.book_id = w.book_id and m.book_id <> m.survivor_id
+         join library.book s on s.id = m.survivor_id
+where w.reader_id is distinct from s.reader_id
+order by w.enqueued_at, w.id
+on conflict (book_id, reader_id) do nothing;
+
+delete
+from library.book b
+using author_book_merge m
+where b.id = m.book_id
+  and m.book_id <> m.survivor_id;
+
+update library.book b
+set author_id = m.canonical_id
+from author_book_merge m
+where b.id = m.survivor_id
+  and b.author_id <> m.canonical_id;
+
+delete
+from library.author a
+where exists (select 1
+              from library.author o
+              where o.last_name = a.last_name
+                and o.first_name = a.first_name
+                and o.middle_name is not distinct from a.middle_name
+                and o.birth_date = a.birth_date
+                and o.id < a.id);
+
+drop table author_book_merge;
+
+-- the arbiter of insert ... on conflict in author creation; a missing middle name is a value like any other
+create unique index idx_author_natural_key
+    on library.author (last_name, first_name, middle_name, birth_date) nulls not distinct;
@@ -0,0 +1,2 @@
+alter sequence library.author_id_seq increment by 50;
+alter sequence library.book_id_seq increment by 50;
@@ -0,0 +1,6 @@
+create index concurrently if not exists idx_reader_last_name_trgm
+    on library.reader using gin (last_name gin_trgm_ops);
+create index concurrently if not exists idx_reader_first_name_trgm
+    on library.reader using gin (first_name gin_trgm_ops);
+create index concurrently if not exists idx_reader_email_trgm
+    on library.reader using gin (email gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- kept apart from the trigram indexes: Flyway runs a concurrent index build only in a migration
+-- that has no transactional statements
+create extension if not exists pg_trgm;
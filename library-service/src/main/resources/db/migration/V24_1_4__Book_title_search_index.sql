@@ -0,0 +1,2 @@
+create index concurrently if not exists idx_book_title_tsv
+    on library.book using gin (to_tsvector('simple', title));
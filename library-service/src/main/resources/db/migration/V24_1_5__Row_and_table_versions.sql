@@ -0,0 +1,34 @@
+alter table library.book add column version bigint not null default 0;
+
+-- Per-table change counters behind list ETags. Writers bump one of several stripes picked by backend pid,
+-- so concurrent transactions do not queue on a single counter row; the table version is the sum of stripes.
+create table library.table_version
+(
+    table_name varchar(63) not null,
+    stripe     smallint    not null,
+    version    bigint      not null,
+    primary key (table_name, stripe)
+);
+
+create function library.bump_table_version() returns trigger
+    language plpgsql as
+$$
+begin
+    insert into library.table_version (table_name, stripe, version)
+    values (tg_table_name, pg_backend_pid() % 8, 1)
+    on conflict (table_name, stripe) do update set version = library.table_version.version + 1;
+    return null;
+end;
+$$;
+
+create trigger book_table_version
+    after insert or update or delete or truncate on library.book
+    for each statement execute function library.bump_table_version();
+
+create trigger author_table_version
+    after insert or update or delete or truncate on library.author
+    for each statement execute function library.bump_table_version();
+
+create trigger reader_table_version
+    after insert or update or delete or truncate on library.reader
+    for each statement execute function library.bump_table_version();
@@ -0,0 +1,83 @@
+create sequence library.loan_id_seq;
+
+-- Monthly range partitions (UTC); history reads bound borrowed_at so that later months are pruned.
+create table library.loan
+(
+    id          bigint      not null default nextval('library.loan_id_seq'),
+    book_id     integer     not null,
+    reader_id   integer,
+    borrowed_at timestamptz not null,
+    returned_at timestamptz,
+    primary key (id, borrowed_at)
+) partition by range (borrowed_at);
+
+alter sequence library.loan_id_seq owned by library.loan.id;
+
+create index idx_loan_reader_history on library.loan (reader_id, borrowed_at desc, id desc);
+create index idx_loan_book_history on library.loan (book_id, borrowed_at desc, id desc);
+-- open loans only: closing a loan probes a near-empty index per partition instead of the history
+create index idx_loan_open_book on library.loan (book_id) where returned_at is null;
+
+-- safety net when the scheduled partition creation falls behind
+create table library.loan_default partition of library.loan default;
+
+-- A month that reached the default partition (partition creation fell behind, e.g. after an outage) cannot be
+-- attached as a plain partition: the default partition would violate its new constraint. Such a month is built
+-- detached, its rows are moved out of the default partition and only then it is attached.
+create function library.create_loan_partition(month date) returns boolean
+    language plpgsql as
+$$
+declare
+    month_start    date        := date_trunc('month', month)::date;
+    partition_name text        := 'loan_' || to_char(month_start, 'YYYY_MM');
+    range_start    timestamptz := month_start::timestamp at time zone 'UTC';
+    range_end      timestamptz := (month_start + interval '1 month')::timestamp at time zone 'UTC';
+begin
+    if to_regclass('library.' || partition_name) is not null then
+        return false;
+    end if;
+    if not exists (select 1
+                   from library.loan_default
+                   where borrowed_at >= range_start
+                     and borrowed_at < range_end) then
+        execute format(
+                'create table library.%I partition of library.loan for values from (%L) to (%L)',
+                partition_name, range_start, range_end);
+        return true;
+    end if;
+
+    -- blocks writers of the default partition until the month is attached
+    lock table library.loan_default in share row exclusive mode;
+    execute format('create table library.%I (like library.loan including defaults including constraints)',
+                   partition_name);
+    execute format(
+            'with moved as (delete from library.loan_default where borrowed_at >= %L and borrowed_at < %L returning *)
+             insert into library.%I select * from moved',
+            range_start, range_end, partition_name);
+    execute format(
+            'alter table library.loan attach partition library.%I for values from (%L) to (%L)',
+            partition_name, range_start, range_end);
+    return true;
+end;
+$$;
+
+do
+$$
+    declare
+        month date := date_trunc('month', coalesce(
+                (select min(borrow_date) from library.book where is_borrowed),
+                current_date))::date;
+    begin
+        while month <= date_trunc('month', current_date + interval '2 months')::date
+            loop
+                perform library.create_loan_partition(month);
+                month := (month + interval '1 month')::date;
+            end loop;
+    end
+$$;
+
+-- books borrowed before history existed get an open loan from their borrow date
+insert into library.loan (book_id, reader_id, borrowed_at)
+select id, reader_id, coalesce(borrow_date, current_date)::timestamp at time zone 'UTC'
+from library.book
+where is_borrowed;
@@ -0,0 +1,3 @@
+-- borrowed books in due order: overdue scans and pages touch only books that are out
+create index concurrently if not exists idx_book_overdue
+    on library.book (borrow_date, id) where is_borrowed;
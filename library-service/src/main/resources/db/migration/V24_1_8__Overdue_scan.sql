@@ -0,0 +1,12 @@
+alter table library.loan add column overdue_at timestamptz;
+
+-- single row: the last (borrow_date, book id) the overdue scan has passed
+create table library.overdue_scan_watermark
+(
+    id          boolean primary key default true check (id),
+    borrow_date date    not null,
+    book_id     integer not null
+);
+
+insert into library.overdue_scan_watermark (borrow_date, book_id)
+values ('-infinity', 0);
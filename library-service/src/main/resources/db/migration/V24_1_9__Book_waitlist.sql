@@ -0,0 +1,12 @@
+create table library.waitlist
+(
+    id          bigserial primary key,
+    book_id     integer     not null references library.book (id) on delete cascade,
+    reader_id   integer     not null references library.reader (id) on delete cascade,
+    enqueued_at timestamptz not null default now(),
+    unique (book_id, reader_id)
+);
+
+-- queue order per book: the hand-off reads the head, position lookups count up to the reader
+create index idx_waitlist_book_queue on library.waitlist (book_id, id);
+create index idx_waitlist_reader_id on library.waitlist (reader_id);
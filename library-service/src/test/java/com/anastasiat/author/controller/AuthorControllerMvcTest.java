@@ -2,7 +2,11 @@ package com.anastasiat.author.controller;
 
 import com.anastasiat.author.entity.Author;
 import com.anastasiat.author.service.AuthorService;
+import com.anastasiat.book.entity.BookSummary;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.version.service.TableVersionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -11,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.containsString;
@@ -28,6 +33,12 @@ class AuthorControllerMvcTest {
     @MockBean
     private AuthorService authorService;
 
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private TableVersionService tableVersionService;
+
     @Test
     void findAuthorById_ShouldReturnAuthor_WhenAuthorExists() throws Exception {
         Author author = new Author(1, "Тест", "Тестов", null, LocalDate.of(1980, 1, 1));
@@ -113,4 +124,25 @@ class AuthorControllerMvcTest {
         mockMvc.perform(delete("/library-api/authors/1"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void findAuthorBooks_ShouldReturnCursorPage() throws Exception {
+        Author author = new Author(1, "Александр", "Пушкин", null, LocalDate.of(1799, 6, 6));
+        when(authorService.findAuthorById(1)).thenReturn(Optional.of(author));
+        when(bookService.findBooksByAuthorId(1, "NQ", 10)).thenReturn(new BookSummaryCursorPage(
+                List.of(new BookSummary(7, "Евгений Онегин", "Пушкин Александр", false, null)), null));
+
+        mockMvc.perform(get("/library-api/authors/1/books").param("after", "NQ").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Евгений Онегин"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void findAuthorBooks_ShouldReturnNotFound_WhenAuthorNotExist() throws Exception {
+        when(authorService.findAuthorById(1)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/library-api/authors/1/books"))
+                .andExpect(status().isNotFound());
+    }
 }
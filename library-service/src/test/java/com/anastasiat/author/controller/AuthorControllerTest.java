@@ -4,14 +4,18 @@ import com.anastasiat.author.controller.request.CreateAuthorRequest;
 import com.anastasiat.author.entity.Author;
 import com.anastasiat.author.service.AuthorService;
 import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.version.service.TableVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.MapBindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDate;
@@ -29,9 +33,14 @@ class AuthorControllerTest {
     @Mock
     private AuthorService authorService;
 
+    @Mock
+    private TableVersionService tableVersionService;
+
     @InjectMocks
     private AuthorController authorController;
 
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
     @Test
     void findAuthorById_ShouldReturnAuthor_WhenAuthorExists() {
         Author mockAuthor = new Author(1, "Test", "Testov", null, LocalDate.of(2000, 1, 1));
@@ -63,7 +72,7 @@ class AuthorControllerTest {
         );
         when(authorService.findAllAuthors()).thenReturn(mockAuthors);
 
-        Iterable<Author> authors = authorController.findAllAuthors();
+        Iterable<Author> authors = authorController.findAllAuthors(webRequest);
 
         assertNotNull(authors);
         assertEquals(2, ((List<Author>) authors).size());
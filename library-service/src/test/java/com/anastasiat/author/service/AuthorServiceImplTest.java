@@ -1,6 +1,7 @@
 package com.anastasiat.author.service;
 
 import com.anastasiat.author.entity.Author;
+import com.anastasiat.author.entity.AuthorCursorPage;
 import com.anastasiat.author.entity.AuthorPage;
 import com.anastasiat.author.repository.AuthorRepository;
 import com.anastasiat.book.entity.Book;
@@ -8,18 +9,28 @@ import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.AlreadyExistsException;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.service.OutboxService;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
+import com.anastasiat.statistics.service.TableStatisticsService;
+import com.anastasiat.version.service.TableVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +45,12 @@ class AuthorServiceImplTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TableStatisticsService tableStatisticsService;
+
     @InjectMocks
     private AuthorServiceImpl authorService;
 
@@ -84,13 +101,43 @@ class AuthorServiceImplTest {
 
         when(authorRepository.findAll(PageRequest.of(0, 10))).thenReturn(authorPage);
 
-        AuthorPage result = authorService.findAllAuthors(0, 10);
+        AuthorPage result = authorService.findAllAuthors(0, 10, TotalMode.EXACT);
 
         assertNotNull(result);
         assertEquals(authors.size(), result.getContent().size());
         verify(authorRepository, times(1)).findAll(PageRequest.of(0, 10));
     }
 
+    @Test
+    void findAllAuthors_ShouldUseEstimatedTotal() {
+        List<Author> authors = List.of(new Author(), new Author());
+        when(authorRepository.findAllBy(PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(authors, PageRequest.of(0, 2), true));
+        when(tableStatisticsService.estimateRows(TableVersionService.AUTHOR)).thenReturn(7L);
+
+        AuthorPage result = authorService.findAllAuthors(0, 2, TotalMode.APPROXIMATE);
+
+        assertEquals(7L, result.getTotalElements());
+        assertEquals(4, result.getTotalPages());
+        assertFalse(result.isLast());
+        verify(authorRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void findAllAuthors_ShouldReturnAuthorsAfterCursor() {
+        Author first = new Author();
+        first.setId(11);
+        Author second = new Author();
+        second.setId(12);
+
+        when(authorRepository.findByIdGreaterThanOrderById(10, Limit.of(2))).thenReturn(List.of(first, second));
+
+        AuthorCursorPage result = authorService.findAllAuthors(PageCursor.encode(10), 1);
+
+        assertEquals(List.of(first), result.getContent());
+        assertEquals(PageCursor.encode(11), result.getNextCursor());
+    }
+
     @Test
     void createAuthor_ShouldCreateAuthor_WhenValidRequest() {
         String firstName = "Тест";
@@ -104,16 +151,13 @@ class AuthorServiceImplTest {
         author.setMiddleName(middleName);
         author.setBirthDate(birthDate);
 
-        when(authorRepository.findByFirstNameAndLastNameAndMiddleNameAndBirthDate(firstName, lastName, middleName, birthDate))
-                .thenReturn(Optional.empty());
-        when(authorRepository.save(any(Author.class))).thenReturn(author);
+        when(authorRepository.insertIfAbsent(firstName, lastName, middleName, birthDate)).thenReturn(Optional.of(1));
 
         Author result = authorService.createAuthor(firstName, lastName, middleName, birthDate);
 
-        assertNotNull(result);
-        assertEquals(author.getId(), result.getId());
-        verify(authorRepository, times(1)).findByFirstNameAndLastNameAndMiddleNameAndBirthDate(firstName, lastName, middleName, birthDate);
-        verify(authorRepository, times(1)).save(any(Author.class));
+        assertEquals(author, result);
+        verify(authorRepository, never()).save(any(Author.class));
+        verify(outboxService).append(DomainEventType.AUTHOR_CREATED, 1, author);
     }
 
     @Test
@@ -122,15 +166,12 @@ class AuthorServiceImplTest {
         String lastName = "Тестов";
         String middleName = "Тестович";
         LocalDate birthDate = LocalDate.of(1980, 1, 1);
-        Author author = new Author();
 
-        when(authorRepository.findByFirstNameAndLastNameAndMiddleNameAndBirthDate(firstName, lastName, middleName, birthDate))
-                .thenReturn(Optional.of(author));
+        when(authorRepository.insertIfAbsent(firstName, lastName, middleName, birthDate)).thenReturn(Optional.empty());
 
         assertThrows(AlreadyExistsException.class, () -> authorService.createAuthor(firstName, lastName, middleName, birthDate));
 
-        verify(authorRepository, times(1)).findByFirstNameAndLastNameAndMiddleNameAndBirthDate(firstName, lastName, middleName, birthDate);
-        verify(authorRepository, never()).save(any(Author.class));
+        verifyNoInteractions(outboxService);
     }
 
     @Test
@@ -146,6 +187,7 @@ class AuthorServiceImplTest {
         verify(authorRepository, times(1)).findById(authorId);
         verify(bookService, times(1)).existBooksByAuthorId(authorId);
         verify(authorRepository, times(1)).deleteById(authorId);
+        verify(outboxService).append(DomainEventType.AUTHOR_DELETED, authorId, Map.of());
     }
 
     @Test
@@ -2,9 +2,15 @@ package com.anastasiat.book.controller;
 
 import com.anastasiat.book.controller.request.CreateBookRequest;
 import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookOperationResult;
 import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSummary;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
 import com.anastasiat.book.service.BookService;
+import com.anastasiat.controller.ErrorRequestControllerAdvice;
 import com.anastasiat.library.service.LibraryService;
+import com.anastasiat.pagination.TotalMode;
+import com.anastasiat.version.service.TableVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,9 +23,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,18 +45,26 @@ class BookControllerMvcTest {
     @Mock
     private LibraryService libraryService;
 
+    @Mock
+    private TableVersionService tableVersionService;
+
     @InjectMocks
     private BookController bookController;
 
     private Book book;
+    private BookSummary summary;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(bookController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(bookController)
+                .setControllerAdvice(new ErrorRequestControllerAdvice(messageSource))
+                .build();
 
         book = new Book();
         book.setId(1);
         book.setTitle("Название книги");
+
+        summary = new BookSummary(1, "Название книги", "Фамилия Имя", false, null);
     }
 
     @Test
@@ -88,11 +104,44 @@ class BookControllerMvcTest {
                 .andExpect(jsonPath("$.title").value("Название книги"));
     }
 
+    @Test
+    void testFindBookByIdSetsETag() throws Exception {
+        when(bookService.findBookVersion(1)).thenReturn(java.util.Optional.of(3L));
+        when(bookService.findBookById(1)).thenReturn(java.util.Optional.of(book));
+
+        mockMvc.perform(get("/library-api/books/{bookId}", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""));
+    }
+
+    @Test
+    void testFindBookByIdNotModified() throws Exception {
+        when(bookService.findBookVersion(1)).thenReturn(java.util.Optional.of(3L));
+
+        mockMvc.perform(get("/library-api/books/{bookId}", 1)
+                        .header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, never()).findBookById(any());
+    }
+
+    @Test
+    void testFindBooksNotModified() throws Exception {
+        when(tableVersionService.findVersion(
+                TableVersionService.BOOK, TableVersionService.AUTHOR, TableVersionService.READER)).thenReturn(7L);
+
+        mockMvc.perform(get("/library-api/books")
+                        .header("If-None-Match", "\"v7\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, never()).findAllBooks(anyInt(), anyInt(), any());
+    }
+
     @Test
     void testFindBooks() throws Exception {
-        when(bookService.findAllBooks(0, 20)).thenReturn(new BookPage(
+        when(bookService.findAllBooks(0, 20, TotalMode.EXACT)).thenReturn(new BookPage(
                 Collections.emptyList(),
-                0,
+                0L,
                 0,
                 true
         ));
@@ -105,6 +154,62 @@ class BookControllerMvcTest {
                 .andExpect(jsonPath("$.totalPages").value(0));
     }
 
+    @Test
+    void testFindBooksWithoutTotal() throws Exception {
+        when(bookService.findAllBooks(2, 20, TotalMode.NONE)).thenReturn(new BookPage(
+                List.of(summary),
+                null,
+                null,
+                false
+        ));
+
+        mockMvc.perform(get("/library-api/books")
+                        .param("page", "2")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void testFindBooksAfter() throws Exception {
+        when(bookService.findAllBooks("", 20)).thenReturn(new BookSummaryCursorPage(List.of(summary), "MQ"));
+
+        mockMvc.perform(get("/library-api/books")
+                        .param("after", "")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].authorName").value("Фамилия Имя"))
+                .andExpect(jsonPath("$.content[0].reader").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("MQ"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void testFindBooksAfterEmptyPage() throws Exception {
+        mockMvc.perform(get("/library-api/books")
+                        .param("after", "MQ")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(1));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void testSearchBooks() throws Exception {
+        when(bookService.searchBooks("онегин", null, 20)).thenReturn(new BookSummaryCursorPage(List.of(summary), "MC41fDE"));
+
+        mockMvc.perform(get("/library-api/books/search")
+                        .param("q", "онегин"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("MC41fDE"));
+    }
+
     @Test
     void testBorrowBook() throws Exception {
         doNothing().when(libraryService).borrowBook(1, 1);
@@ -130,6 +235,35 @@ class BookControllerMvcTest {
         verify(libraryService, times(1)).returnBook(1, 1);
     }
 
+    @Test
+    void testBorrowBooks() throws Exception {
+        when(libraryService.borrowBooks(1, List.of(1, 2))).thenReturn(List.of(
+                new BookOperationResult(1, true, "library.ok.book.borrowed"),
+                new BookOperationResult(2, false, "library.errors.book.not_available")
+        ));
+        when(messageSource.getMessage(eq("library.ok.book.borrowed"), any(), any(), any()))
+                .thenReturn("Книга успешно взята читателем");
+
+        mockMvc.perform(post("/library-api/books/borrow/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"readerId\": 1, \"bookIds\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookId").value(1))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].message").value("Книга успешно взята читателем"))
+                .andExpect(jsonPath("$[1].success").value(false));
+    }
+
+    @Test
+    void testReturnBooksInvalid() throws Exception {
+        mockMvc.perform(post("/library-api/books/return/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"readerId\": 1, \"bookIds\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(libraryService, never()).returnBooks(any(), any());
+    }
+
     @Test
     void testDeleteBook() throws Exception {
         doNothing().when(libraryService).deleteBook(1);
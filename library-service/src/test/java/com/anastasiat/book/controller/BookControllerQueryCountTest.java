@@ -0,0 +1,164 @@
+package com.anastasiat.book.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the book endpoints, counted at the JDBC level so that {@code JdbcTemplate} writes (loans,
+ * outbox, waitlist) and table version reads are included next to the Hibernate queries.
+ */
+@SpringBootTest(properties = "config.borrow-mode=CONDITIONAL_UPDATE")
+@AutoConfigureMockMvc
+@Import(BookControllerQueryCountTest.StatementCountingConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class BookControllerQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private StatementCountingDataSource statements;
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            ? new StatementCountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate.execute("""
+                truncate library.book, library.author, library.reader, library.loan, library.waitlist, library.outbox
+                restart identity cascade""");
+        jdbcTemplate.update("update library.overdue_scan_watermark set borrow_date = '-infinity', book_id = 0");
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update(
+                    "insert into library.author (first_name, last_name, birth_date) values (?, ?, date '1900-01-01')",
+                    "Имя" + i, "Фамилия" + i);
+            jdbcTemplate.update(
+                    "insert into library.reader (first_name, last_name, email) values (?, ?, ?)",
+                    "Имя" + i, "Фамилия" + i, "reader" + i + "@example.com");
+        }
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update(
+                    "insert into library.book (author_id, title, is_borrowed, borrow_date, reader_id) values (?, ?, ?, ?, ?)",
+                    i % 5 + 1, "Книга " + i, i % 2 == 0, i % 2 == 0 ? java.sql.Date.valueOf("2024-01-01") : null,
+                    i % 2 == 0 ? i % 5 + 1 : null);
+        }
+
+        statements = dataSource.unwrap(StatementCountingDataSource.class);
+        statements.reset();
+    }
+
+    @Test
+    void findBooksPage_ShouldReadTableVersionSelectAndCount() throws Exception {
+        mockMvc.perform(get("/library-api/books").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.totalElements").value(20));
+
+        assertEquals(3, statements.count());
+    }
+
+    @Test
+    void findBooksAfterCursor_ShouldReadTableVersionAndSingleSelect() throws Exception {
+        mockMvc.perform(get("/library-api/books").param("after", "").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].authorName").value("Фамилия2 Имя2"));
+
+        assertEquals(2, statements.count());
+    }
+
+    @Test
+    void findBookById_ShouldReadVersionThenBookGraph() throws Exception {
+        mockMvc.perform(get("/library-api/books/{bookId}", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.author.lastName").value("Фамилия3"))
+                .andExpect(jsonPath("$.reader.lastName").value("Фамилия3"));
+
+        assertEquals(2, statements.count());
+    }
+
+    @Test
+    void findBookByIdNotModified_ShouldReadVersionOnly() throws Exception {
+        mockMvc.perform(get("/library-api/books/{bookId}", 2).header("If-None-Match", "\"2-0\""))
+                .andExpect(status().isNotModified());
+
+        assertEquals(1, statements.count());
+    }
+
+    @Test
+    void borrowBook_ShouldUpdateOnceOpenLoanAndAppendEvent() throws Exception {
+        mockMvc.perform(post("/library-api/books/borrow").param("readerId", "1").param("bookId", "1"))
+                .andExpect(status().isOk());
+
+        assertEquals(3, statements.count());
+    }
+
+    @Test
+    void borrowBorrowedBook_ShouldFailWithNotAvailable() throws Exception {
+        mockMvc.perform(post("/library-api/books/borrow").param("readerId", "1").param("bookId", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returnBook_ShouldUpdateOnceCloseLoanAppendEventAndPollWaitlist() throws Exception {
+        mockMvc.perform(post("/library-api/books/return").param("readerId", "3").param("bookId", "2"))
+                .andExpect(status().isOk());
+
+        assertEquals(4, statements.count());
+    }
+
+    @Test
+    void returnBookWithWaitlist_ShouldAlsoHandOffInThreeStatements() throws Exception {
+        jdbcTemplate.update("insert into library.waitlist (book_id, reader_id) values (2, 4)");
+        statements.reset();
+
+        mockMvc.perform(post("/library-api/books/return").param("readerId", "3").param("bookId", "2"))
+                .andExpect(status().isOk());
+
+        assertEquals(7, statements.count());
+        assertEquals(4, jdbcTemplate.queryForObject("select reader_id from library.book where id = 2", Integer.class));
+    }
+}
@@ -3,9 +3,12 @@ package com.anastasiat.book.controller;
 import com.anastasiat.book.controller.request.CreateBookRequest;
 import com.anastasiat.book.entity.Book;
 import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSummary;
 import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.library.service.LibraryService;
+import com.anastasiat.pagination.TotalMode;
+import com.anastasiat.version.service.TableVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +18,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.MapBindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -39,9 +45,14 @@ class BookControllerTest {
     @Mock
     private LibraryService libraryService;
 
+    @Mock
+    private TableVersionService tableVersionService;
+
     @InjectMocks
     private BookController bookController;
 
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
     private Book book;
     private CreateBookRequest createBookRequest;
 
@@ -58,7 +69,7 @@ class BookControllerTest {
     void testFindBookById() {
         when(bookService.findBookById(1)).thenReturn(Optional.of(book));
 
-        Book foundBook = bookController.findBookById(1);
+        Book foundBook = bookController.findBookById(1, webRequest);
 
         assertNotNull(foundBook);
         assertEquals("Название книги", foundBook.getTitle());
@@ -69,19 +80,22 @@ class BookControllerTest {
     void testFindBookByIdNotFound() {
         when(bookService.findBookById(1)).thenReturn(Optional.empty());
 
-        assertThrows(NotExistsException.class, () -> bookController.findBookById(1));
+        assertThrows(NotExistsException.class, () -> bookController.findBookById(1, webRequest));
     }
 
     @Test
     void testFindBooks() {
-        BookPage bookPage = new BookPage(List.of(book), 1L, 1, true);
-        when(bookService.findAllBooks(0, 20)).thenReturn(bookPage);
+        BookSummary summary = new BookSummary(1, "Название книги", "Фамилия Имя", false, null);
+        BookPage bookPage = new BookPage(List.of(summary), 1L, 1, true);
+        when(bookService.findAllBooks(0, 20, TotalMode.EXACT)).thenReturn(bookPage);
 
-        BookPage result = bookController.findBooks(0, 20);
+        BookPage result = bookController.findBooks(0, 20, true, false, webRequest);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(bookService, times(1)).findAllBooks(0, 20);
+        assertEquals(summary, result.getContent().get(0));
+        assertEquals("Фамилия Имя", result.getContent().get(0).authorName());
+        verify(bookService, times(1)).findAllBooks(0, 20, TotalMode.EXACT);
     }
 
     @Test
@@ -0,0 +1,81 @@
+package com.anastasiat.book.controller;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts statements executed through the application data source, whichever layer issues them: Hibernate,
+ * {@code JdbcTemplate} or anything else. A batch counts once. Only the thread that called {@link #reset()} is
+ * counted, so scheduled jobs running meanwhile do not disturb the numbers.
+ */
+class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final AtomicInteger count = new AtomicInteger();
+    private volatile Thread countedThread;
+
+    StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    void reset() {
+        countedThread = Thread.currentThread();
+        count.set(0);
+    }
+
+    int count() {
+        return count.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())
+                            ? counting(statement, method.getReturnType())
+                            : result;
+                });
+    }
+
+    private Object counting(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute") && Thread.currentThread() == countedThread) {
+                        count.incrementAndGet();
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+}
@@ -3,20 +3,32 @@ package com.anastasiat.book.service;
 import com.anastasiat.author.entity.Author;
 import com.anastasiat.book.entity.Book;
 import com.anastasiat.book.entity.BookPage;
+import com.anastasiat.book.entity.BookSearchHit;
+import com.anastasiat.book.entity.BookSummary;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
 import com.anastasiat.book.repository.BookRepository;
+import com.anastasiat.exception.InvalidRequestException;
+import com.anastasiat.metrics.LibraryMetrics;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.statistics.service.TableStatisticsService;
+import com.anastasiat.version.service.TableVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.time.ZoneId;
+import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.zone.ZoneRules;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,17 +42,23 @@ class BookServiceImplTest {
     private BookRepository bookRepository;
 
     @Mock
-    private ZoneId zoneId;
+    private TableStatisticsService tableStatisticsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private BookServiceImpl bookService;
 
     private Book book;
+    private BookSummary summary;
     private Author author;
     private Reader reader;
 
     @BeforeEach
     void setUp() {
+        bookService = new BookServiceImpl(ZoneOffset.UTC, bookRepository, new LibraryMetrics(meterRegistry),
+                tableStatisticsService);
+        ReflectionTestUtils.setField(bookService, "maxSearchCandidates", 1000);
+
         author = new Author();
         author.setId(1);
         author.setFirstName("Имя");
@@ -55,24 +73,34 @@ class BookServiceImplTest {
         book.setId(1);
         book.setTitle("Название книги");
         book.setAuthor(author);
+
+        summary = new BookSummary(1, "Название книги", "Фамилия Имя", false, null);
     }
 
     @Test
-    void testCreateBook() {
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
+    void testCreateBookIfAbsent() {
+        when(bookRepository.insertIfAbsent("Название книги", 1)).thenReturn(Optional.of(7));
 
-        Book createdBook = bookService.createBook("Название книги", author);
+        Optional<Book> createdBook = bookService.createBookIfAbsent("Название книги", author);
 
-        assertNotNull(createdBook);
-        assertEquals("Название книги", createdBook.getTitle());
-        assertEquals(author, createdBook.getAuthor());
-        verify(bookRepository, times(1)).save(any(Book.class));
+        assertTrue(createdBook.isPresent());
+        assertEquals(7, createdBook.get().getId());
+        assertEquals("Название книги", createdBook.get().getTitle());
+        assertEquals(author, createdBook.get().getAuthor());
+        assertFalse(createdBook.get().getIsBorrowed());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void testCreateBookIfAbsentWhenTitleTaken() {
+        when(bookRepository.insertIfAbsent("Название книги", 1)).thenReturn(Optional.empty());
+
+        assertTrue(bookService.createBookIfAbsent("Название книги", author).isEmpty());
     }
 
     @Test
     void testUpdateBook() {
         when(bookRepository.save(any(Book.class))).thenReturn(book);
-        when(zoneId.getRules()).thenReturn(ZoneRules.of(ZoneOffset.UTC));
 
         bookService.updateBook(book, true, reader);
 
@@ -82,6 +110,30 @@ class BookServiceImplTest {
         verify(bookRepository, times(1)).save(any(Book.class));
     }
 
+    @Test
+    void testBorrowBookIfAvailable() {
+        when(bookRepository.borrowIfAvailable(eq(1), eq(2), any())).thenReturn(1);
+
+        assertTrue(bookService.borrowBookIfAvailable(1, 2));
+        assertEquals(1, meterRegistry.get("library.books").tag("state", "borrowed").gauge().value());
+        assertEquals(-1, meterRegistry.get("library.books").tag("state", "available").gauge().value());
+    }
+
+    @Test
+    void testBorrowBookIfAvailableWhenBorrowed() {
+        when(bookRepository.borrowIfAvailable(eq(1), eq(2), any())).thenReturn(0);
+
+        assertFalse(bookService.borrowBookIfAvailable(1, 2));
+        assertEquals(0, meterRegistry.get("library.books").tag("state", "borrowed").gauge().value());
+    }
+
+    @Test
+    void testReturnBookIfBorrowedBy() {
+        when(bookRepository.returnIfBorrowedBy(1, 2)).thenReturn(1);
+
+        assertTrue(bookService.returnBookIfBorrowedBy(1, 2));
+    }
+
     @Test
     void testFindBookById() {
         when(bookRepository.findById(1)).thenReturn(Optional.of(book));
@@ -95,41 +147,173 @@ class BookServiceImplTest {
 
     @Test
     void testFindAllBooks() {
-        Page<Book> bookPage = mock(Page.class);
-        when(bookRepository.findAll(any(Pageable.class))).thenReturn(bookPage);
-        when(bookPage.getContent()).thenReturn(List.of(book));
+        Page<BookSummary> bookPage = mock(Page.class);
+        when(bookRepository.findSummaries(any(Pageable.class))).thenReturn(bookPage);
+        when(bookPage.getContent()).thenReturn(List.of(summary));
         when(bookPage.getTotalElements()).thenReturn(1L);
         when(bookPage.getTotalPages()).thenReturn(1);
         when(bookPage.isLast()).thenReturn(true);
 
-        BookPage result = bookService.findAllBooks(0, 10);
+        BookPage result = bookService.findAllBooks(0, 10, TotalMode.EXACT);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertTrue(result.isLast());
-        verify(bookRepository, times(1)).findAll(any(Pageable.class));
+        verify(bookRepository, times(1)).findSummaries(any(Pageable.class));
     }
 
     @Test
-    void testFindBookByIdForUpdate() {
-        when(bookRepository.findByIdForUpdate(1)).thenReturn(Optional.of(book));
+    void testFindAllBooksWithoutTotal() {
+        when(bookRepository.findSummarySlice(PageRequest.of(3, 10)))
+                .thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(3, 10), false));
 
-        Optional<Book> foundBook = bookService.findBookByIdForUpdate(1);
+        BookPage result = bookService.findAllBooks(3, 10, TotalMode.NONE);
 
-        assertTrue(foundBook.isPresent());
-        assertEquals(book, foundBook.get());
-        verify(bookRepository, times(1)).findByIdForUpdate(1);
+        assertEquals(List.of(summary), result.getContent());
+        assertNull(result.getTotalElements());
+        assertNull(result.getTotalPages());
+        assertTrue(result.isLast());
+        verify(bookRepository, never()).findSummaries(any(Pageable.class));
+        verifyNoInteractions(tableStatisticsService);
+    }
+
+    @Test
+    void testFindAllBooksApproximateTotalNotBelowSeenRows() {
+        when(bookRepository.findSummarySlice(PageRequest.of(3, 10)))
+                .thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(3, 10), false));
+        when(tableStatisticsService.estimateRows(TableVersionService.BOOK)).thenReturn(0L);
+
+        BookPage result = bookService.findAllBooks(3, 10, TotalMode.APPROXIMATE);
+
+        assertEquals(31L, result.getTotalElements());
+        assertEquals(4, result.getTotalPages());
+    }
+
+    @Test
+    void testFindAllBooksAfterCursor() {
+        BookSummary nextBook = new BookSummary(2, "Другая книга", "Фамилия Имя", false, null);
+        when(bookRepository.findSummariesAfter(0, Limit.of(2))).thenReturn(List.of(summary, nextBook));
+
+        BookSummaryCursorPage result = bookService.findAllBooks("", 1);
+
+        assertEquals(List.of(summary), result.getContent());
+        assertEquals(PageCursor.encode(1), result.getNextCursor());
+    }
+
+    @Test
+    void testFindAllBooksAfterCursorLastPage() {
+        when(bookRepository.findSummariesAfter(1, Limit.of(21))).thenReturn(List.of());
+
+        BookSummaryCursorPage result = bookService.findAllBooks(PageCursor.encode(1), 20);
+
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testFindBooksByReaderId() {
+        BookSummary nextBook = new BookSummary(2, "Другая книга", "Фамилия Имя", true, null);
+        when(bookRepository.findSummariesByReaderAfter(1, 0, Limit.of(2))).thenReturn(List.of(summary, nextBook));
+
+        BookSummaryCursorPage result = bookService.findBooksByReaderId(1, null, 1);
+
+        assertEquals(List.of(summary), result.getContent());
+        assertEquals(PageCursor.encode(1), result.getNextCursor());
+    }
+
+    @Test
+    void testFindBooksByAuthorIdLastPage() {
+        when(bookRepository.findSummariesByAuthorAfter(1, 1, Limit.of(21))).thenReturn(List.of());
+
+        BookSummaryCursorPage result = bookService.findBooksByAuthorId(1, PageCursor.encode(1), 20);
+
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testFindAllBooksAfterInvalidCursor() {
+        assertThrows(InvalidRequestException.class, () -> bookService.findAllBooks("not a cursor", 20));
+    }
+
+    @Test
+    void testSearchBooksRanksHitsAndReturnsCursor() {
+        BookSummary second = new BookSummary(2, "Другая книга", "Фамилия Имя", false, null);
+        when(bookRepository.searchByTitle("Евген:* & онег:*", 1000, Float.POSITIVE_INFINITY, 0, 3))
+                .thenReturn(List.of(hit(2, 0.9f), hit(1, 0.5f), hit(3, 0.1f)));
+        when(bookRepository.findSummariesByIdIn(List.of(2, 1))).thenReturn(List.of(summary, second));
+
+        BookSummaryCursorPage result = bookService.searchBooks("Евген, онег!", null, 2);
+
+        assertEquals(List.of(second, summary), result.getContent());
+        assertEquals(PageCursor.encode(0.5f, 1), result.getNextCursor());
+    }
+
+    @Test
+    void testSearchBooksContinuesAfterCursor() {
+        when(bookRepository.searchByTitle("пушкин:*", 1000, 0.5f, 1, 21)).thenReturn(List.of());
+        when(bookRepository.findSummariesByIdIn(List.of())).thenReturn(List.of());
+
+        BookSummaryCursorPage result = bookService.searchBooks("пушкин", PageCursor.encode(0.5f, 1), 20);
+
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    void testFindBookByTitleAndAuthorId() {
-        when(bookRepository.findByTitleAndAuthorId("Название книги", 1)).thenReturn(Optional.of(book));
+    void testSearchBooksWithoutTermsSkipsQuery() {
+        BookSummaryCursorPage result = bookService.searchBooks(" :*& ", null, 20);
+
+        assertTrue(result.getContent().isEmpty());
+        verifyNoInteractions(bookRepository);
+    }
 
-        Optional<Book> foundBook = bookService.findBookByTitleAndAuthorId("Название книги", 1);
+    @Test
+    void testSearchBooksInvalidCursor() {
+        assertThrows(InvalidRequestException.class, () -> bookService.searchBooks("пушкин", PageCursor.encode("x", 1), 20));
+    }
+
+    @Test
+    void testFindOverdueBooksReturnsCursor() {
+        LocalDate borrowedBefore = LocalDate.of(2024, 5, 1);
+        BookSummary first = new BookSummary(1, "Название книги", "Фамилия Имя", true, LocalDate.of(2024, 4, 1));
+        BookSummary second = new BookSummary(2, "Другая книга", "Фамилия Имя", true, LocalDate.of(2024, 4, 2));
+        when(bookRepository.findOverdue(borrowedBefore, Limit.of(2))).thenReturn(List.of(first, second));
+
+        BookSummaryCursorPage result = bookService.findOverdueBooks(borrowedBefore, null, 1);
+
+        assertEquals(List.of(first), result.getContent());
+        assertEquals(PageCursor.encode(LocalDate.of(2024, 4, 1), 1), result.getNextCursor());
+    }
+
+    @Test
+    void testFindOverdueBooksContinuesAfterCursor() {
+        LocalDate borrowedBefore = LocalDate.of(2024, 5, 1);
+        when(bookRepository.findOverdueAfter(borrowedBefore, LocalDate.of(2024, 4, 1), 1, Limit.of(21)))
+                .thenReturn(List.of());
+
+        BookSummaryCursorPage result = bookService.findOverdueBooks(
+                borrowedBefore, PageCursor.encode(LocalDate.of(2024, 4, 1), 1), 20);
+
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testFindOverdueBooksInvalidCursor() {
+        assertThrows(InvalidRequestException.class,
+                () -> bookService.findOverdueBooks(LocalDate.of(2024, 5, 1), PageCursor.encode("x", 1), 20));
+    }
+
+    @Test
+    void testFindBookByIdForUpdate() {
+        when(bookRepository.findByIdForUpdate(1)).thenReturn(Optional.of(book));
+
+        Optional<Book> foundBook = bookService.findBookByIdForUpdate(1);
 
         assertTrue(foundBook.isPresent());
         assertEquals(book, foundBook.get());
-        verify(bookRepository, times(1)).findByTitleAndAuthorId("Название книги", 1);
+        verify(bookRepository, times(1)).findByIdForUpdate(1);
     }
 
     @Test
@@ -160,4 +344,19 @@ class BookServiceImplTest {
 
         verify(bookRepository, times(1)).deleteById(1);
     }
+
+    private BookSearchHit hit(Integer id, Float rank) {
+        return new BookSearchHit() {
+
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public Float getRank() {
+                return rank;
+            }
+        };
+    }
 }
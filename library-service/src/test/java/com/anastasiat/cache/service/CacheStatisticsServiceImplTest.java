@@ -0,0 +1,145 @@
+package com.anastasiat.cache.service;
+
+import com.anastasiat.author.entity.Author;
+import com.anastasiat.author.repository.AuthorRepository;
+import com.anastasiat.author.service.AuthorService;
+import com.anastasiat.author.service.AuthorServiceImpl;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.cache.entity.CacheStatistics;
+import com.anastasiat.cache.entity.CacheStatisticsReport;
+import com.anastasiat.cache.entity.EntityRegionStatistics;
+import com.anastasiat.config.CacheConfig;
+import com.anastasiat.outbox.service.OutboxService;
+import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.repository.ReaderRepository;
+import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.reader.service.ReaderServiceImpl;
+import com.anastasiat.statistics.service.TableStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({
+        CacheConfig.class,
+        AuthorServiceImpl.class,
+        ReaderServiceImpl.class,
+        CacheStatisticsServiceImpl.class
+})
+@TestPropertySource(properties = "config.cache.spec=maximumSize=100,recordStats")
+class CacheStatisticsServiceImplTest {
+
+    @MockBean
+    private AuthorRepository authorRepository;
+
+    @MockBean
+    private ReaderRepository readerRepository;
+
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private TableStatisticsService tableStatisticsService;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ReaderService readerService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    private Author author;
+
+    @BeforeEach
+    void setUp() {
+        author = new Author(1, "Александр", "Пушкин", "Сергеевич", LocalDate.of(1799, 6, 6));
+    }
+
+    @Test
+    void findAuthorById_isServedFromCacheUntilDeleted() {
+        when(authorRepository.findById(1)).thenReturn(Optional.of(author));
+
+        assertEquals(Optional.of(author), authorService.findAuthorById(1));
+        assertEquals(Optional.of(author), authorService.findAuthorById(1));
+        verify(authorRepository, times(1)).findById(1);
+
+        authorService.deleteAuthor(1);
+        authorService.findAuthorById(1);
+        verify(authorRepository, times(3)).findById(1);
+    }
+
+    @Test
+    void findReaderById_doesNotCacheMissingReaders() {
+        when(readerRepository.findById(2)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), readerService.findReaderById(2));
+        assertEquals(Optional.empty(), readerService.findReaderById(2));
+
+        verify(readerRepository, times(2)).findById(2);
+    }
+
+    @Test
+    void createReader_putsReaderIntoCache() {
+        Reader reader = new Reader(3, "Иван", "Иванов", null, "ivanov@mail.ru");
+        when(readerRepository.insertIfAbsent("Иван", "Иванов", null, "ivanov@mail.ru")).thenReturn(Optional.of(3));
+
+        readerService.createReader("Иван", "Иванов", null, "ivanov@mail.ru");
+
+        assertEquals(Optional.of(reader), readerService.findReaderById(3));
+        verify(readerRepository, never()).findById(any());
+    }
+
+    @Test
+    void getStatistics_reportsApplicationCachesAndEntityRegions() {
+        when(authorRepository.findById(5)).thenReturn(Optional.of(author));
+        authorService.findAuthorById(5);
+        authorService.findAuthorById(5);
+
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Statistics statistics = mock(Statistics.class);
+        CacheRegionStatistics regionStatistics = mock(CacheRegionStatistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"com.anastasiat.author.entity.Author"});
+        when(statistics.getCacheRegionStatistics("com.anastasiat.author.entity.Author")).thenReturn(regionStatistics);
+        when(regionStatistics.getRegionName()).thenReturn("com.anastasiat.author.entity.Author");
+        when(regionStatistics.getElementCountInMemory()).thenReturn(1L);
+        when(regionStatistics.getHitCount()).thenReturn(4L);
+        when(regionStatistics.getMissCount()).thenReturn(1L);
+        when(regionStatistics.getPutCount()).thenReturn(1L);
+
+        CacheStatisticsReport report = cacheStatisticsService.getStatistics();
+
+        CacheStatistics authors = report.getCaches().get(0);
+        assertEquals(CacheConfig.AUTHORS, authors.name());
+        assertTrue(authors.hitCount() >= 1);
+        assertTrue(authors.missCount() >= 1);
+        assertEquals(CacheConfig.READERS, report.getCaches().get(1).name());
+        assertEquals(
+                List.of(new EntityRegionStatistics("com.anastasiat.author.entity.Author", 1, 4, 1, 1)),
+                report.getEntityRegions()
+        );
+    }
+}
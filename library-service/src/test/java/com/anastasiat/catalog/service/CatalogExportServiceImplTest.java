@@ -0,0 +1,95 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.entity.ExportedBook;
+import com.anastasiat.catalog.repository.CatalogExportRepository;
+import com.anastasiat.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportServiceImplTest {
+
+    @Mock
+    private CatalogExportRepository catalogExportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogExportServiceImpl catalogExportService;
+
+    @BeforeEach
+    void setUp() {
+        catalogExportService = new CatalogExportServiceImpl(
+                catalogExportRepository,
+                new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+                transactionManager,
+                100
+        );
+        lenient().doAnswer(invocation -> {
+            Consumer<ExportedBook> action = invocation.getArgument(1);
+            action.accept(new ExportedBook(
+                    1, "Евгений Онегин", false, null,
+                    7, "Александр", "Пушкин", "Сергеевич", LocalDate.of(1799, 6, 6),
+                    null, null, null, null, null
+            ));
+            action.accept(new ExportedBook(
+                    2, "Сказка о рыбаке, и \"рыбке\"", true, LocalDate.of(2024, 1, 15),
+                    7, "Александр", "Пушкин", "Сергеевич", LocalDate.of(1799, 6, 6),
+                    3, "Иван", "Иванов", null, "ivanov@mail.ru"
+            ));
+            return null;
+        }).when(catalogExportRepository).forEachBook(eq(100), any());
+    }
+
+    @Test
+    void exportBooks_writesOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        catalogExportService.exportBooks(outputStream, CatalogFormat.NDJSON);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"title\":\"Евгений Онегин\",\"isBorrowed\":false,\"borrowDate\":null,"));
+        assertTrue(lines[0].contains("\"authorBirthDate\":\"1799-06-06\""));
+        assertTrue(lines[1].contains("\"borrowDate\":\"2024-01-15\""));
+        assertTrue(lines[1].endsWith("\"readerEmail\":\"ivanov@mail.ru\"}"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void exportBooks_writesCsvWithHeaderAndQuotedFields() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        catalogExportService.exportBooks(outputStream, CatalogFormat.CSV);
+
+        assertEquals("""
+                id,title,is_borrowed,borrow_date,author_id,author_first_name,author_last_name,author_middle_name,author_birth_date,reader_id,reader_first_name,reader_last_name,reader_middle_name,reader_email
+                1,Евгений Онегин,false,,7,Александр,Пушкин,Сергеевич,1799-06-06,,,,,
+                2,"Сказка о рыбаке, и ""рыбке\""",true,2024-01-15,7,Александр,Пушкин,Сергеевич,1799-06-06,3,Иван,Иванов,,ivanov@mail.ru
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fromParameter_isCaseInsensitiveAndRejectsUnknownFormats() {
+        assertEquals(CatalogFormat.CSV, CatalogFormat.fromParameter("csv"));
+        assertEquals(CatalogFormat.NDJSON, CatalogFormat.fromParameter("NDJSON"));
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> CatalogFormat.fromParameter("xml"));
+        assertEquals("library.errors.export.format_invalid", exception.getMessage());
+    }
+}
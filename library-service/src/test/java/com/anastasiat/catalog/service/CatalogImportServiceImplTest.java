@@ -0,0 +1,198 @@
+package com.anastasiat.catalog.service;
+
+import com.anastasiat.catalog.entity.AuthorKey;
+import com.anastasiat.catalog.entity.CatalogImportReject;
+import com.anastasiat.catalog.entity.CatalogImportReport;
+import com.anastasiat.catalog.entity.ExportedBook;
+import com.anastasiat.catalog.repository.CatalogImportRepository;
+import com.anastasiat.catalog.repository.CatalogImportRepository.NewAuthor;
+import com.anastasiat.catalog.repository.CatalogImportRepository.NewBook;
+import com.anastasiat.metrics.LibraryMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceImplTest {
+
+    private static final AuthorKey PUSHKIN = new AuthorKey("Александр", "Пушкин", "Сергеевич", LocalDate.of(1799, 6, 6));
+    private static final AuthorKey GOGOL = new AuthorKey("Николай", "Гоголь", null, LocalDate.of(1809, 4, 1));
+
+    @Mock
+    private CatalogImportRepository catalogImportRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CatalogImportServiceImpl catalogImportService;
+
+    @BeforeEach
+    void setUp() {
+        catalogImportService = new CatalogImportServiceImpl(
+                catalogImportRepository,
+                transactionTemplate,
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new LibraryMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(catalogImportService, "batchSize", 2);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void importCatalog_createsMissingAuthorsAndWritesBooksInChunks() throws IOException {
+        when(catalogImportRepository.findAuthorIds(anyList()))
+                .thenReturn(new HashMap<>(Map.of(PUSHKIN, 7)))
+                .thenReturn(new HashMap<>(Map.of(PUSHKIN, 7)));
+        when(catalogImportRepository.allocateAuthorIds(1)).thenReturn(List.of(51));
+        when(catalogImportRepository.insertAuthors(List.of(new NewAuthor(51, GOGOL)))).thenReturn(new boolean[]{true});
+        when(catalogImportRepository.allocateBookIds(2)).thenReturn(List.of(101, 102));
+        when(catalogImportRepository.allocateBookIds(1)).thenReturn(List.of(103));
+        when(catalogImportRepository.insertBooks(anyList()))
+                .thenReturn(new boolean[]{true, true})
+                .thenReturn(new boolean[]{false});
+
+        CatalogImportReport report = catalogImportService.importCatalog(stream("""
+                {"title":"Евгений Онегин","authorFirstName":"Александр","authorLastName":"Пушкин","authorMiddleName":"Сергеевич","authorBirthDate":"1799-06-06"}
+                {"title":"Мертвые души","authorFirstName":"Николай","authorLastName":"Гоголь","authorMiddleName":"","authorBirthDate":"1809-04-01"}
+
+                {"title":"Евгений Онегин","authorFirstName":"Александр","authorLastName":"Пушкин","authorMiddleName":"Сергеевич","authorBirthDate":"1799-06-06"}
+                """), CatalogFormat.NDJSON);
+
+        assertEquals(3, report.getProcessedRows());
+        assertEquals(2, report.getImportedBooks());
+        assertEquals(1, report.getCreatedAuthors());
+        assertEquals(1, report.getRejectedRows());
+        assertEquals(List.of(new CatalogImportReject(4, List.of("library.errors.book.already_exists"))), report.getRejects());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NewBook>> books = ArgumentCaptor.forClass(List.class);
+        verify(catalogImportRepository, times(2)).insertBooks(books.capture());
+        assertEquals(List.of(new NewBook(101, 7, "Евгений Онегин"), new NewBook(102, 51, "Мертвые души")), books.getAllValues().get(0));
+        assertEquals(List.of(new NewBook(103, 7, "Евгений Онегин")), books.getAllValues().get(1));
+    }
+
+    @Test
+    void importCatalog_authorCreatedConcurrently_usesExistingAuthor() throws IOException {
+        when(catalogImportRepository.findAuthorIds(List.of(GOGOL)))
+                .thenReturn(new HashMap<>())
+                .thenReturn(new HashMap<>(Map.of(GOGOL, 9)));
+        when(catalogImportRepository.allocateAuthorIds(1)).thenReturn(List.of(51));
+        when(catalogImportRepository.insertAuthors(List.of(new NewAuthor(51, GOGOL)))).thenReturn(new boolean[]{false});
+        when(catalogImportRepository.allocateBookIds(1)).thenReturn(List.of(101));
+        when(catalogImportRepository.insertBooks(List.of(new NewBook(101, 9, "Мертвые души"))))
+                .thenReturn(new boolean[]{true});
+
+        CatalogImportReport report = catalogImportService.importCatalog(stream("""
+                {"title":"Мертвые души","authorFirstName":"Николай","authorLastName":"Гоголь","authorBirthDate":"1809-04-01"}
+                """), CatalogFormat.NDJSON);
+
+        assertEquals(1, report.getImportedBooks());
+        assertEquals(0, report.getCreatedAuthors());
+        assertEquals(0, report.getRejectedRows());
+    }
+
+    @Test
+    void importCatalog_rejectsInvalidRowsWithoutWriting() throws IOException {
+        CatalogImportReport report = catalogImportService.importCatalog(stream("""
+                author_last_name,author_first_name,title,author_birth_date
+                Пушкин,Александр,,1799-06-06
+                Пушкин,Александр,"Сказка о рыбаке, и рыбке",не дата
+                Пушкин,Александр
+                """), CatalogFormat.CSV);
+
+        assertEquals(3, report.getProcessedRows());
+        assertEquals(0, report.getImportedBooks());
+        assertEquals(3, report.getRejectedRows());
+        assertEquals(List.of(
+                new CatalogImportReject(2, List.of("library.book.create.errors.title_is_null")),
+                new CatalogImportReject(3, List.of("library.import.errors.row_invalid")),
+                new CatalogImportReject(4, List.of("library.import.errors.row_invalid"))
+        ), report.getRejects());
+        verifyNoInteractions(catalogImportRepository, transactionTemplate);
+    }
+
+    @Test
+    void importCatalog_rejectsNullNdjsonLine() throws IOException {
+        CatalogImportReport report = catalogImportService.importCatalog(stream("""
+                null
+                """), CatalogFormat.NDJSON);
+
+        assertEquals(1, report.getProcessedRows());
+        assertEquals(List.of(new CatalogImportReject(1, List.of("library.import.errors.row_invalid"))), report.getRejects());
+        verifyNoInteractions(catalogImportRepository, transactionTemplate);
+    }
+
+    @Test
+    void importCatalog_parsesQuotedCsvFields() throws IOException {
+        when(catalogImportRepository.findAuthorIds(List.of(PUSHKIN))).thenReturn(new HashMap<>(Map.of(PUSHKIN, 7)));
+        when(catalogImportRepository.allocateBookIds(1)).thenReturn(List.of(101));
+        when(catalogImportRepository.insertBooks(List.of(new NewBook(101, 7, "Сказка о рыбаке и \"рыбке\""))))
+                .thenReturn(new boolean[]{true});
+
+        CatalogImportReport report = catalogImportService.importCatalog(stream("""
+                title,author_last_name,author_first_name,author_middle_name,author_birth_date
+                "Сказка о рыбаке и ""рыбке\""",Пушкин,Александр,Сергеевич,1799-06-06
+                """), CatalogFormat.CSV);
+
+        assertEquals(1, report.getImportedBooks());
+        assertEquals(0, report.getRejectedRows());
+        verify(catalogImportRepository, never()).insertAuthors(anyList());
+    }
+
+    @Test
+    void importCatalog_reimportsCsvExportWithMultiLineTitle() throws IOException {
+        String title = "Сказка о рыбаке\nи \"рыбке\", в стихах";
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        CatalogRowWriter writer = CatalogRowWriter.csv(export);
+        writer.write(new ExportedBook(1, title, false, null, 7, "Александр", "Пушкин", "Сергеевич",
+                LocalDate.of(1799, 6, 6), null, null, null, null, null));
+        writer.write(new ExportedBook(2, "Дубровский", false, null, 7, "Александр", "Пушкин", "Сергеевич",
+                null, null, null, null, null, null));
+        writer.finish();
+        when(catalogImportRepository.findAuthorIds(List.of(PUSHKIN))).thenReturn(new HashMap<>(Map.of(PUSHKIN, 7)));
+        when(catalogImportRepository.allocateBookIds(1)).thenReturn(List.of(101));
+        when(catalogImportRepository.insertBooks(List.of(new NewBook(101, 7, title)))).thenReturn(new boolean[]{true});
+
+        CatalogImportReport report = catalogImportService.importCatalog(
+                new ByteArrayInputStream(export.toByteArray()), CatalogFormat.CSV);
+
+        assertEquals(2, report.getProcessedRows());
+        assertEquals(1, report.getImportedBooks());
+        // the second book has no author birth date; it is reported by the line its record starts on
+        assertEquals(List.of(new CatalogImportReject(4, List.of("library.author.create.errors.birthDate_is_null"))),
+                report.getRejects());
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,296 @@
+package com.anastasiat.library.service;
+
+import com.anastasiat.author.service.AuthorService;
+import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.entity.BookOperationResult;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.loan.service.LoanService;
+import com.anastasiat.metrics.LibraryMetrics;
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.service.OutboxService;
+import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.waitlist.service.WaitlistService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LibraryServiceImplTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private AuthorService authorService;
+
+    @Mock
+    private ReaderService readerService;
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LibraryServiceImpl lockingLibraryService;
+    private LibraryServiceImpl conditionalLibraryService;
+
+    private Book book;
+    private Reader reader;
+
+    @BeforeEach
+    void setUp() {
+        LibraryMetrics libraryMetrics = new LibraryMetrics(meterRegistry);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        lockingLibraryService = new LibraryServiceImpl(
+                bookService, authorService, readerService, loanService, waitlistService, outboxService,
+                BorrowMode.LOCKING, libraryMetrics, transactionTemplate);
+        conditionalLibraryService = new LibraryServiceImpl(
+                bookService, authorService, readerService, loanService, waitlistService, outboxService,
+                BorrowMode.CONDITIONAL_UPDATE, libraryMetrics, transactionTemplate);
+
+        reader = new Reader();
+        reader.setId(1);
+
+        book = new Book();
+        book.setId(1);
+        book.setIsBorrowed(false);
+    }
+
+    @Test
+    void borrowBook_Locking_ShouldUpdateBook_WhenAvailable() {
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(reader));
+        when(bookService.findBookByIdForUpdate(1)).thenReturn(Optional.of(book));
+
+        lockingLibraryService.borrowBook(1, 1);
+
+        verify(bookService).updateBook(book, true, reader);
+        verify(bookService, never()).borrowBookIfAvailable(anyInt(), anyInt());
+    }
+
+    @Test
+    void borrowBook_Locking_ShouldThrow_WhenBorrowed() {
+        book.setIsBorrowed(true);
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(reader));
+        when(bookService.findBookByIdForUpdate(1)).thenReturn(Optional.of(book));
+
+        assertThatThrownBy(() -> lockingLibraryService.borrowBook(1, 1))
+                .isInstanceOf(UnavailableOperationException.class)
+                .hasMessage("library.errors.book.not_available");
+        verifyNoInteractions(loanService);
+    }
+
+    @Test
+    void borrowBook_Conditional_ShouldUseSingleUpdate_WhenAvailable() {
+        when(bookService.borrowBookIfAvailable(1, 1)).thenReturn(true);
+
+        conditionalLibraryService.borrowBook(1, 1);
+
+        verifyNoInteractions(readerService);
+        verify(bookService, never()).findBookByIdForUpdate(any());
+        verify(loanService).openLoans(List.of(1), 1);
+    }
+
+    @Test
+    void borrowBook_Conditional_ShouldThrowNotAvailable_WhenBorrowed() {
+        when(bookService.borrowBookIfAvailable(1, 1)).thenReturn(false);
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(reader));
+        when(bookService.findBookById(1)).thenReturn(Optional.of(book));
+
+        assertThatThrownBy(() -> conditionalLibraryService.borrowBook(1, 1))
+                .isInstanceOf(UnavailableOperationException.class)
+                .hasMessage("library.errors.book.not_available");
+        assertThat(meterRegistry.get("library.book.operation")
+                .tags("operation", "borrow", "outcome", "unavailable")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void borrowBook_CommitFails_ShouldRecordError() {
+        when(bookService.borrowBookIfAvailable(1, 1)).thenReturn(true);
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        assertThatThrownBy(() -> conditionalLibraryService.borrowBook(1, 1))
+                .isInstanceOf(TransactionSystemException.class);
+        assertThat(meterRegistry.get("library.book.operation")
+                .tags("operation", "borrow", "outcome", "error")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.find("library.book.operation").tags("outcome", "success").timer()).isNull();
+    }
+
+    @Test
+    void borrowBook_Conditional_ShouldThrowBookNotFound_WhenBookMissing() {
+        when(bookService.borrowBookIfAvailable(1, 1)).thenReturn(false);
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(reader));
+        when(bookService.findBookById(1)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> conditionalLibraryService.borrowBook(1, 1))
+                .isInstanceOf(NotExistsException.class)
+                .hasMessage("library.errors.book.not_found");
+    }
+
+    @Test
+    void borrowBook_Conditional_ShouldThrowReaderNotFound_WhenForeignKeyViolated() {
+        when(bookService.borrowBookIfAvailable(1, 1)).thenThrow(new DataIntegrityViolationException("fk"));
+
+        assertThatThrownBy(() -> conditionalLibraryService.borrowBook(1, 1))
+                .isInstanceOf(NotExistsException.class)
+                .hasMessage("library.errors.reader.not_found");
+    }
+
+    @Test
+    void returnBook_Conditional_ShouldUseSingleUpdate_WhenBorrowedByReader() {
+        when(bookService.returnBookIfBorrowedBy(1, 1)).thenReturn(true);
+
+        conditionalLibraryService.returnBook(1, 1);
+
+        verify(bookService, never()).findBookById(any());
+    }
+
+    @Test
+    void returnBook_Conditional_ShouldHandOffToWaitlistHead() {
+        when(bookService.returnBookIfBorrowedBy(1, 1)).thenReturn(true);
+        when(waitlistService.pollNext(List.of(1))).thenReturn(Map.of(1, 2));
+
+        conditionalLibraryService.returnBook(1, 1);
+
+        verify(loanService).closeLoans(List.of(1));
+        verify(bookService).borrowBooks(List.of(1), 2);
+        verify(loanService).openLoans(List.of(1), 2);
+        verify(outboxService).append(DomainEventType.BOOK_RETURNED, 1, Map.of("readerId", 1));
+        verify(outboxService).appendAll(eq(DomainEventType.BOOK_BORROWED), eq(List.of(1)), any());
+    }
+
+    @Test
+    void returnBook_Conditional_ShouldThrowAvailable_WhenNotBorrowed() {
+        when(bookService.returnBookIfBorrowedBy(1, 1)).thenReturn(false);
+        when(bookService.findBookById(1)).thenReturn(Optional.of(book));
+
+        assertThatThrownBy(() -> conditionalLibraryService.returnBook(1, 1))
+                .isInstanceOf(UnavailableOperationException.class)
+                .hasMessage("library.errors.book.available");
+    }
+
+    @Test
+    void returnBook_Conditional_ShouldThrowNotAvailable_WhenBorrowedByAnotherReader() {
+        book.setIsBorrowed(true);
+        when(bookService.returnBookIfBorrowedBy(1, 1)).thenReturn(false);
+        when(bookService.findBookById(1)).thenReturn(Optional.of(book));
+
+        assertThatThrownBy(() -> conditionalLibraryService.returnBook(1, 1))
+                .isInstanceOf(UnavailableOperationException.class)
+                .hasMessage("library.errors.book.not_available");
+    }
+
+    @Test
+    void returnBook_Locking_ShouldUpdateBookAndHandOffToWaitlistHead() {
+        book.setIsBorrowed(true);
+        book.setReader(reader);
+        when(bookService.findBookByIdForUpdate(1)).thenReturn(Optional.of(book));
+        when(waitlistService.pollNext(List.of(1))).thenReturn(Map.of(1, 2));
+
+        lockingLibraryService.returnBook(1, 1);
+
+        verify(bookService).updateBook(book, false, null);
+        verify(bookService, never()).returnBookIfBorrowedBy(anyInt(), anyInt());
+        verify(loanService).closeLoans(List.of(1));
+        verify(bookService).borrowBooks(List.of(1), 2);
+        verify(loanService).openLoans(List.of(1), 2);
+    }
+
+    @Test
+    void returnBook_Locking_ShouldThrowNotAvailable_WhenBorrowedByAnotherReader() {
+        Reader anotherReader = new Reader();
+        anotherReader.setId(2);
+        book.setIsBorrowed(true);
+        book.setReader(anotherReader);
+        when(bookService.findBookByIdForUpdate(1)).thenReturn(Optional.of(book));
+
+        assertThatThrownBy(() -> lockingLibraryService.returnBook(1, 1))
+                .isInstanceOf(UnavailableOperationException.class)
+                .hasMessage("library.errors.book.not_available");
+    }
+
+    @Test
+    void borrowBooks_ShouldLockInIdOrderAndReportPerBookOutcome() {
+        Book borrowedBook = new Book();
+        borrowedBook.setId(2);
+        borrowedBook.setIsBorrowed(true);
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(reader));
+        when(bookService.findBooksByIdsForUpdate(List.of(1, 2, 3))).thenReturn(List.of(book, borrowedBook));
+
+        List<BookOperationResult> results = conditionalLibraryService.borrowBooks(1, List.of(3, 2, 1, 2));
+
+        assertThat(results).containsExactly(
+                new BookOperationResult(3, false, "library.errors.book.not_found"),
+                new BookOperationResult(2, false, "library.errors.book.not_available"),
+                new BookOperationResult(1, true, "library.ok.book.borrowed")
+        );
+        verify(bookService).borrowBooks(List.of(1), 1);
+        verify(loanService).openLoans(List.of(1), 1);
+    }
+
+    @Test
+    void borrowBooks_ShouldThrow_WhenReaderNotFound() {
+        when(readerService.findReaderById(1)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> conditionalLibraryService.borrowBooks(1, List.of(1)))
+                .isInstanceOf(NotExistsException.class)
+                .hasMessage("library.errors.reader.not_found");
+        verify(bookService, never()).findBooksByIdsForUpdate(any());
+    }
+
+    @Test
+    void returnBooks_ShouldReturnOnlyBooksBorrowedByReader() {
+        Reader anotherReader = new Reader();
+        anotherReader.setId(2);
+        Book anotherReadersBook = new Book();
+        anotherReadersBook.setId(2);
+        anotherReadersBook.setIsBorrowed(true);
+        anotherReadersBook.setReader(anotherReader);
+        book.setIsBorrowed(true);
+        book.setReader(reader);
+        when(bookService.findBooksByIdsForUpdate(List.of(1, 2))).thenReturn(List.of(book, anotherReadersBook));
+
+        List<BookOperationResult> results = conditionalLibraryService.returnBooks(1, List.of(1, 2));
+
+        assertThat(results).containsExactly(
+                new BookOperationResult(1, true, "library.ok.book.returned"),
+                new BookOperationResult(2, false, "library.errors.book.not_available")
+        );
+        verify(bookService).returnBooks(List.of(1));
+        verify(loanService).closeLoans(List.of(1));
+        verify(waitlistService).pollNext(List.of(1));
+    }
+}
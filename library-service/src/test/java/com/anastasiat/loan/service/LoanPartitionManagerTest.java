@@ -0,0 +1,40 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.loan.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanPartitionManagerTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @InjectMocks
+    private LoanPartitionManager loanPartitionManager;
+
+    @Test
+    void createPartitions_FailedMonth_ContinuesWithLaterMonths() {
+        ReflectionTestUtils.setField(loanPartitionManager, "monthsAhead", 2);
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        when(loanRepository.createPartition(month))
+                .thenThrow(new DataIntegrityViolationException("updated partition constraint for default partition"));
+        when(loanRepository.createPartition(month.plusMonths(1))).thenReturn(true);
+        when(loanRepository.createPartition(month.plusMonths(2))).thenReturn(false);
+
+        assertDoesNotThrow(loanPartitionManager::createPartitions);
+
+        verify(loanRepository).createPartition(month.plusMonths(2));
+    }
+}
@@ -0,0 +1,85 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.exception.InvalidRequestException;
+import com.anastasiat.loan.entity.Loan;
+import com.anastasiat.loan.entity.LoanCursorPage;
+import com.anastasiat.loan.repository.LoanRepository;
+import com.anastasiat.pagination.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceImplTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private BookService bookService;
+
+    private LoanServiceImpl loanService;
+
+    @BeforeEach
+    void setUp() {
+        loanService = new LoanServiceImpl(ZoneOffset.UTC, Period.ofDays(14), loanRepository, bookService);
+    }
+
+    @Test
+    void testFindReaderLoansFirstPage() {
+        Loan newer = new Loan(2L, 1, 7, OffsetDateTime.parse("2024-05-02T10:00Z"), null, null);
+        Loan older = new Loan(1L, 1, 7, OffsetDateTime.parse("2024-04-01T10:00Z"), OffsetDateTime.parse("2024-04-20T10:00Z"), null);
+        when(loanRepository.findByReaderId(7, OffsetDateTime.MAX, Long.MAX_VALUE, 2)).thenReturn(List.of(newer, older));
+
+        LoanCursorPage page = loanService.findReaderLoans(7, null, 1);
+
+        assertEquals(List.of(newer), page.getContent());
+        assertEquals(PageCursor.encode(newer.borrowedAt(), 2L), page.getNextCursor());
+    }
+
+    @Test
+    void testFindBookLoansAfterCursor() {
+        OffsetDateTime borrowedAt = OffsetDateTime.parse("2024-05-02T10:00Z");
+        Loan loan = new Loan(1L, 3, 7, OffsetDateTime.parse("2024-04-01T10:00Z"), null, null);
+        when(loanRepository.findByBookId(3, borrowedAt, 2L, 21)).thenReturn(List.of(loan));
+
+        LoanCursorPage page = loanService.findBookLoans(3, PageCursor.encode(borrowedAt, 2L), 20);
+
+        assertEquals(List.of(loan), page.getContent());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindBookLoansInvalidCursor() {
+        assertThrows(InvalidRequestException.class, () -> loanService.findBookLoans(3, PageCursor.encode("x", 1), 20));
+    }
+
+    @Test
+    void testCloseLoansSkipsEmptyBatch() {
+        loanService.closeLoans(List.of());
+
+        verifyNoInteractions(loanRepository);
+    }
+
+    @Test
+    void testFindOverdueBooksPastLoanPeriod() {
+        BookSummaryCursorPage page = new BookSummaryCursorPage(List.of(), null);
+        LocalDate borrowedBefore = LocalDate.now(ZoneOffset.UTC).minusDays(14);
+        when(bookService.findOverdueBooks(borrowedBefore, null, 20)).thenReturn(page);
+
+        assertSame(page, loanService.findOverdueBooks(null, 20));
+    }
+}
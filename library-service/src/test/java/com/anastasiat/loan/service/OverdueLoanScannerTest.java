@@ -0,0 +1,100 @@
+package com.anastasiat.loan.service;
+
+import com.anastasiat.loan.repository.LoanRepository;
+import com.anastasiat.loan.repository.OverdueScanRepository;
+import com.anastasiat.loan.repository.OverdueScanRepository.ScanPosition;
+import com.anastasiat.metrics.LibraryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueLoanScannerTest {
+
+    private static final LocalDate BORROWED_BEFORE = LocalDate.of(2024, 5, 1);
+    private static final ScanPosition START = new ScanPosition(LocalDate.of(2024, 3, 1), 0);
+
+    @Mock
+    private OverdueScanRepository overdueScanRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OverdueLoanScanner scanner;
+
+    @BeforeEach
+    void setUp() {
+        scanner = new OverdueLoanScanner(overdueScanRepository, loanRepository, loanService, transactionTemplate,
+                new LibraryMetrics(meterRegistry));
+        ReflectionTestUtils.setField(scanner, "chunkSize", 2);
+        ReflectionTestUtils.setField(scanner, "maxChunks", 3);
+        when(loanService.overdueBorrowedBefore()).thenReturn(BORROWED_BEFORE);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testScanWalksChunksFromWatermark() {
+        ScanPosition first = new ScanPosition(LocalDate.of(2024, 4, 1), 5);
+        ScanPosition second = new ScanPosition(LocalDate.of(2024, 4, 2), 3);
+        ScanPosition third = new ScanPosition(LocalDate.of(2024, 4, 3), 9);
+        when(overdueScanRepository.lockWatermark()).thenReturn(START, second);
+        when(overdueScanRepository.findOverdueAfter(START, BORROWED_BEFORE, 2)).thenReturn(List.of(first, second));
+        when(overdueScanRepository.findOverdueAfter(second, BORROWED_BEFORE, 2)).thenReturn(List.of(third));
+        when(loanRepository.markOverdue(List.of(5, 3))).thenReturn(2);
+        when(loanRepository.markOverdue(List.of(9))).thenReturn(1);
+
+        scanner.scan();
+
+        verify(overdueScanRepository).advanceWatermark(second);
+        verify(overdueScanRepository).advanceWatermark(third);
+        verify(overdueScanRepository, times(2)).lockWatermark();
+        assertEquals(3, meterRegistry.get("library.loans.overdue").counter().count());
+    }
+
+    @Test
+    void testScanStopsAtMaxChunks() {
+        ScanPosition first = new ScanPosition(LocalDate.of(2024, 4, 1), 1);
+        ScanPosition second = new ScanPosition(LocalDate.of(2024, 4, 1), 2);
+        when(overdueScanRepository.lockWatermark()).thenReturn(START);
+        when(overdueScanRepository.findOverdueAfter(START, BORROWED_BEFORE, 2)).thenReturn(List.of(first, second));
+        when(loanRepository.markOverdue(List.of(1, 2))).thenReturn(2);
+
+        scanner.scan();
+
+        verify(overdueScanRepository, times(3)).lockWatermark();
+        verify(overdueScanRepository, times(3)).advanceWatermark(second);
+    }
+
+    @Test
+    void testScanWithoutNewOverduesKeepsWatermark() {
+        when(overdueScanRepository.lockWatermark()).thenReturn(START);
+        when(overdueScanRepository.findOverdueAfter(START, BORROWED_BEFORE, 2)).thenReturn(List.of());
+
+        scanner.scan();
+
+        verify(overdueScanRepository, never()).advanceWatermark(any());
+        verifyNoInteractions(loanRepository);
+    }
+}
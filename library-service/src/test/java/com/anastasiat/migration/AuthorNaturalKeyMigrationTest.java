@@ -0,0 +1,109 @@
+package com.anastasiat.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class AuthorNaturalKeyMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(null).clean();
+        flyway("24.1.11").migrate();
+    }
+
+    @Test
+    void migrate_DuplicateAuthorWithSameTitle_MergesBooks() {
+        int canonical = insertAuthor();
+        int duplicate = insertAuthor();
+        int reader = insertReader("reader1@example.com");
+        int waiting = insertReader("reader2@example.com");
+        int kept = insertBook(canonical, "Книга", null);
+        int merged = insertBook(duplicate, "Книга", reader);
+        int moved = insertBook(duplicate, "Другая книга", null);
+        jdbcTemplate.update("insert into library.loan (book_id, reader_id, borrowed_at) values (?, ?, now())",
+                merged, reader);
+        jdbcTemplate.update("insert into library.waitlist (book_id, reader_id) values (?, ?)", merged, waiting);
+
+        flyway(null).migrate();
+
+        assertEquals(List.of(canonical), jdbcTemplate.queryForList("select id from library.author", Integer.class));
+        Map<String, Object> book = jdbcTemplate.queryForMap(
+                "select author_id, is_borrowed, reader_id from library.book where id = ?", kept);
+        assertEquals(canonical, book.get("author_id"));
+        assertEquals(true, book.get("is_borrowed"));
+        assertEquals(reader, book.get("reader_id"));
+        assertEquals(canonical, jdbcTemplate.queryForObject(
+                "select author_id from library.book where id = ?", Integer.class, moved));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from library.book where id = ?", Integer.class, merged));
+        assertEquals(List.of(kept), jdbcTemplate.queryForList("select book_id from library.loan", Integer.class));
+        assertEquals(List.of(kept), jdbcTemplate.queryForList(
+                "select book_id from library.waitlist where reader_id = ?", Integer.class, waiting));
+    }
+
+    @Test
+    void migrate_DuplicatesBorrowedByDifferentReaders_FailsNamingBooks() {
+        int canonical = insertAuthor();
+        int duplicate = insertAuthor();
+        int kept = insertBook(canonical, "Книга", insertReader("reader1@example.com"));
+        int merged = insertBook(duplicate, "Книга", insertReader("reader2@example.com"));
+
+        FlywayException exception = assertThrows(FlywayException.class, () -> flyway(null).migrate());
+
+        assertTrue(exception.getMessage().contains(kept + ", " + merged));
+    }
+
+    private Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(dataSource)
+                .schemas("library")
+                .cleanDisabled(false)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private int insertAuthor() {
+        return jdbcTemplate.queryForObject("""
+                insert into library.author (id, first_name, last_name, birth_date)
+                values (nextval('library.author_id_seq'), 'Имя', 'Фамилия', date '1900-01-01')
+                returning id""", Integer.class);
+    }
+
+    private int insertReader(String email) {
+        return jdbcTemplate.queryForObject("""
+                insert into library.reader (id, first_name, last_name, email)
+                values (nextval('library.reader_id_seq'), 'Имя', 'Фамилия', ?)
+                returning id""", Integer.class, email);
+    }
+
+    private int insertBook(int authorId, String title, Integer readerId) {
+        return jdbcTemplate.queryForObject("""
+                insert into library.book (id, author_id, title, is_borrowed, borrow_date, reader_id)
+                values (nextval('library.book_id_seq'), ?, ?, ?, case when ? then current_date end, ?)
+                returning id""", Integer.class, authorId, title, readerId != null, readerId != null, readerId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.outbox.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOutboxSinkTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testPublishAppendsNdjsonLines() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path file = directory.resolve("outbox/events.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, file.toString());
+        OffsetDateTime createdAt = OffsetDateTime.parse("2024-05-01T10:00:00Z");
+
+        sink.publish(List.of(new OutboxEvent(1L, "book", 7, "BOOK_BORROWED", "{\"readerId\":3}", createdAt)));
+        sink.publish(List.of(new OutboxEvent(2L, "book", 7, "BOOK_RETURNED", "{\"readerId\":3}", createdAt)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(3, objectMapper.readTree(lines.get(0)).path("payload").path("readerId").asInt());
+        assertEquals("BOOK_RETURNED", objectMapper.readTree(lines.get(1)).path("eventType").asText());
+    }
+}
@@ -0,0 +1,98 @@
+package com.anastasiat.outbox.service;
+
+import com.anastasiat.metrics.OutboxMetrics;
+import com.anastasiat.outbox.entity.OutboxEvent;
+import com.anastasiat.outbox.repository.OutboxRepository;
+import com.anastasiat.outbox.repository.OutboxRepository.Backlog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryOutboxSink outboxSink = new InMemoryOutboxSink();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxRepository, outboxSink, transactionTemplate, new OutboxMetrics(meterRegistry));
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "maxBatches", 5);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(outboxRepository.findBacklog()).thenReturn(new Backlog(0, null));
+    }
+
+    @Test
+    void testRelayPublishesPartitionInBatchesAndDeletesThem() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        OutboxEvent third = event(3L);
+        when(outboxRepository.claimPartition(anyInt())).thenReturn(true);
+        when(outboxRepository.findBatch(anyInt(), eq(2))).thenReturn(List.of());
+        when(outboxRepository.findBatch(0, 2)).thenReturn(List.of(first, second), List.of(third));
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(first, second, third), outboxSink.getEvents());
+        verify(outboxRepository).delete(List.of(1L, 2L));
+        verify(outboxRepository).delete(List.of(3L));
+        assertEquals(3, meterRegistry.get("library.outbox.published").counter().count());
+    }
+
+    @Test
+    void testRelaySkipsPartitionClaimedByAnotherRelay() {
+        when(outboxRepository.claimPartition(anyInt())).thenReturn(false);
+
+        outboxRelay.relay();
+
+        verify(outboxRepository, never()).findBatch(anyInt(), anyInt());
+        assertTrue(outboxSink.getEvents().isEmpty());
+    }
+
+    @Test
+    void testRelayKeepsEventsWhenSinkFails() {
+        OutboxSink failingSink = events -> {
+            throw new IllegalStateException("sink down");
+        };
+        outboxRelay = new OutboxRelay(outboxRepository, failingSink, transactionTemplate, new OutboxMetrics(meterRegistry));
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "maxBatches", 5);
+        when(outboxRepository.claimPartition(anyInt())).thenReturn(true);
+        when(outboxRepository.findBatch(anyInt(), eq(2))).thenReturn(List.of(event(1L)));
+
+        outboxRelay.relay();
+
+        verify(outboxRepository, never()).delete(any());
+        verify(outboxRepository).findBacklog();
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, "book", 1, "BOOK_BORROWED", "{\"readerId\":1}", OffsetDateTime.now());
+    }
+}
@@ -1,9 +1,15 @@
 package com.anastasiat.reader.controller;
 
+import com.anastasiat.book.entity.BookSummary;
+import com.anastasiat.book.entity.BookSummaryCursorPage;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.controller.request.CreateReaderRequest;
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.entity.ReaderCursorPage;
 import com.anastasiat.reader.entity.ReaderPage;
 import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.version.service.TableVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +35,12 @@ class ReaderControllerMvcTest {
     @MockBean
     private ReaderService readerService;
 
+    @MockBean
+    private BookService bookService;
+
+    @MockBean
+    private TableVersionService tableVersionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -72,8 +84,8 @@ class ReaderControllerMvcTest {
 
     @Test
     void findReaders_ShouldReturnPagedReaders() throws Exception {
-        ReaderPage readerPage = new ReaderPage(List.of(new Reader(), new Reader()), 2, 1, true);
-        when(readerService.findAllReaders(0, 10)).thenReturn(readerPage);
+        ReaderPage readerPage = new ReaderPage(List.of(new Reader(), new Reader()), 2L, 1, true);
+        when(readerService.findAllReaders(0, 10, TotalMode.EXACT)).thenReturn(readerPage);
 
         mockMvc.perform(get("/library-api/readers")
                         .param("page", "0")
@@ -85,6 +97,34 @@ class ReaderControllerMvcTest {
                 .andExpect(jsonPath("$.last", is(true)));
     }
 
+    @Test
+    void findReaders_ShouldReturnBadRequest_WhenPageIsInvalid() throws Exception {
+        mockMvc.perform(get("/library-api/readers")
+                        .param("page", "-1")
+                        .param("size", "0"))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {
+                                    "errors": [
+                                        "Номер страницы не может быть отрицательным",
+                                        "Размер страницы должен быть от 1 до 100"
+                                    ]
+                                }"""));
+        verifyNoInteractions(readerService);
+    }
+
+    @Test
+    void searchReaders_ShouldReturnBadRequest_WhenSizeIsTooLarge() throws Exception {
+        mockMvc.perform(get("/library-api/readers/search")
+                        .param("q", "иван")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", is("Размер страницы должен быть от 1 до 100")));
+        verifyNoInteractions(readerService);
+    }
+
     @Test
     void createReader_ShouldReturnCreated_WhenValidRequest() throws Exception {
         CreateReaderRequest request = new CreateReaderRequest("Test", "Тестов", null, "test.test@example.com");
@@ -133,4 +173,39 @@ class ReaderControllerMvcTest {
                 .andExpect(status().isNoContent());
         verify(readerService, times(1)).deleteReaderById(1);
     }
+
+    @Test
+    void searchReaders_ShouldReturnCursorPage() throws Exception {
+        Reader reader = new Reader();
+        reader.setId(3);
+        reader.setLastName("Иванов");
+        when(readerService.searchReaders("иван", null, 20)).thenReturn(new ReaderCursorPage(List.of(reader), "Mw"));
+
+        mockMvc.perform(get("/library-api/readers/search").param("q", "иван"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].lastName", is("Иванов")))
+                .andExpect(jsonPath("$.nextCursor", is("Mw")));
+    }
+
+    @Test
+    void findReaderBooks_ShouldReturnCursorPage() throws Exception {
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(new Reader()));
+        when(bookService.findBooksByReaderId(1, null, 20)).thenReturn(new BookSummaryCursorPage(
+                List.of(new BookSummary(5, "Евгений Онегин", "Пушкин Александр", true, null)), "NQ"));
+
+        mockMvc.perform(get("/library-api/readers/{readerId}/books", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(5)))
+                .andExpect(jsonPath("$.nextCursor", is("NQ")));
+    }
+
+    @Test
+    void findReaderBooks_ShouldReturnNotFound_WhenReaderNotExists() throws Exception {
+        when(readerService.findReaderById(1)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/library-api/readers/{readerId}/books", 1))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(bookService);
+    }
 }
@@ -1,17 +1,22 @@
 package com.anastasiat.reader.controller;
 
 import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.controller.request.CreateReaderRequest;
 import com.anastasiat.reader.entity.Reader;
 import com.anastasiat.reader.entity.ReaderPage;
 import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.version.service.TableVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
@@ -31,9 +36,14 @@ class ReaderControllerTest {
     @Mock
     private BindingResult bindingResult;
 
+    @Mock
+    private TableVersionService tableVersionService;
+
     @InjectMocks
     private ReaderController readerController;
 
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
     @Test
     void findReaderById_ShouldReturnReader_WhenExists() {
         Reader reader = new Reader();
@@ -62,7 +72,7 @@ class ReaderControllerTest {
         List<Reader> readers = List.of(new Reader(), new Reader());
         when(readerService.findAllReaders()).thenReturn(readers);
 
-        Iterable<Reader> result = readerController.findAllReaders();
+        Iterable<Reader> result = readerController.findAllReaders(webRequest);
 
         assertThat(result).hasSize(2);
         verify(readerService, times(1)).findAllReaders();
@@ -70,14 +80,14 @@ class ReaderControllerTest {
 
     @Test
     void findReaders_ShouldReturnPagedReaders() {
-        ReaderPage readerPage = new ReaderPage(List.of(new Reader(), new Reader()), 2, 1, true);
-        when(readerService.findAllReaders(0, 10)).thenReturn(readerPage);
+        ReaderPage readerPage = new ReaderPage(List.of(new Reader(), new Reader()), 2L, 1, true);
+        when(readerService.findAllReaders(0, 10, TotalMode.EXACT)).thenReturn(readerPage);
 
-        ReaderPage result = readerController.findReaders(0, 10);
+        ReaderPage result = readerController.findReaders(0, 10, true, false, webRequest);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
-        verify(readerService, times(1)).findAllReaders(0, 10);
+        verify(readerService, times(1)).findAllReaders(0, 10, TotalMode.EXACT);
     }
 
     @Test
@@ -5,25 +5,35 @@ import com.anastasiat.book.service.BookService;
 import com.anastasiat.exception.AlreadyExistsException;
 import com.anastasiat.exception.NotExistsException;
 import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.outbox.entity.DomainEventType;
+import com.anastasiat.outbox.service.OutboxService;
+import com.anastasiat.pagination.PageCursor;
+import com.anastasiat.pagination.TotalMode;
 import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.entity.ReaderCursorPage;
 import com.anastasiat.reader.entity.ReaderPage;
 import com.anastasiat.reader.repository.ReaderRepository;
+import com.anastasiat.statistics.service.TableStatisticsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +46,12 @@ class ReaderServiceImplTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TableStatisticsService tableStatisticsService;
+
     @InjectMocks
     private ReaderServiceImpl readerService;
 
@@ -74,7 +90,7 @@ class ReaderServiceImplTest {
         Page<Reader> page = new PageImpl<>(List.of(reader), PageRequest.of(0, 10), 1);
         when(readerRepository.findAll(PageRequest.of(0, 10))).thenReturn(page);
 
-        ReaderPage result = readerService.findAllReaders(0, 10);
+        ReaderPage result = readerService.findAllReaders(0, 10, TotalMode.EXACT);
 
         assertThat(result.getContent()).containsExactly(reader);
         assertThat(result.getTotalElements()).isEqualTo(1);
@@ -82,9 +98,62 @@ class ReaderServiceImplTest {
         assertThat(result.isLast()).isTrue();
     }
 
+    @Test
+    void findAllReaders_ShouldSkipCountWithoutTotal() {
+        Reader reader = new Reader();
+        when(readerRepository.findAllBy(PageRequest.of(1, 10)))
+                .thenReturn(new SliceImpl<>(List.of(reader), PageRequest.of(1, 10), true));
+
+        ReaderPage result = readerService.findAllReaders(1, 10, TotalMode.NONE);
+
+        assertThat(result.getContent()).containsExactly(reader);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.getTotalPages()).isNull();
+        assertThat(result.isLast()).isFalse();
+        verify(readerRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void findAllReaders_ShouldReturnLastPageWithoutCursor() {
+        Reader reader = new Reader();
+        reader.setId(1);
+        when(readerRepository.findByIdGreaterThanOrderById(0, Limit.of(11))).thenReturn(List.of(reader));
+
+        ReaderCursorPage result = readerService.findAllReaders("", 10);
+
+        assertThat(result.getContent()).containsExactly(reader);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchReaders_ShouldEscapeLikeWildcardsAndReturnCursor() {
+        Reader first = new Reader();
+        first.setId(4);
+        Reader second = new Reader();
+        second.setId(9);
+        when(readerRepository.search("%iv\\_an\\%%", 3, Limit.of(2))).thenReturn(List.of(first, second));
+
+        ReaderCursorPage result = readerService.searchReaders(" iv_an% ", PageCursor.encode(3), 1);
+
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(PageCursor.decodeId(result.getNextCursor())).isEqualTo(4);
+    }
+
+    @Test
+    void searchReaders_ShouldListAllReaders_WhenQueryIsBlank() {
+        Reader reader = new Reader();
+        reader.setId(1);
+        when(readerRepository.findByIdGreaterThanOrderById(0, Limit.of(21))).thenReturn(List.of(reader));
+
+        ReaderCursorPage result = readerService.searchReaders("  ", null, 20);
+
+        assertThat(result.getContent()).containsExactly(reader);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
     @Test
     void createReader_ShouldThrowException_WhenEmailExists() {
-        when(readerRepository.findByEmail("test@example.com")).thenReturn(Optional.of(new Reader()));
+        when(readerRepository.insertIfAbsent("Test", "Testov", null, "test@example.com")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> readerService.createReader("Test", "Testov", null, "test@example.com"))
                 .isInstanceOf(AlreadyExistsException.class)
@@ -92,21 +161,14 @@ class ReaderServiceImplTest {
     }
 
     @Test
-    void createReader_ShouldSaveAndReturnReader_WhenEmailNotExists() {
-        Reader reader = new Reader();
-        reader.setId(1);
-        when(readerRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
-        when(readerRepository.save(any())).thenReturn(reader);
+    void createReader_ShouldInsertAndReturnReader_WhenEmailNotExists() {
+        when(readerRepository.insertIfAbsent("Test", "Testov", null, "test@example.com")).thenReturn(Optional.of(1));
 
         Reader result = readerService.createReader("Test", "Testov", null, "test@example.com");
 
-        ArgumentCaptor<Reader> captor = ArgumentCaptor.forClass(Reader.class);
-        verify(readerRepository).save(captor.capture());
-        Reader savedReader = captor.getValue();
-        assertThat(savedReader.getFirstName()).isEqualTo("Test");
-        assertThat(savedReader.getLastName()).isEqualTo("Testov");
-        assertThat(savedReader.getEmail()).isEqualTo("test@example.com");
-        assertThat(result).isEqualTo(reader);
+        assertThat(result).isEqualTo(new Reader(1, "Test", "Testov", null, "test@example.com"));
+        verify(readerRepository, never()).save(any());
+        verify(outboxService).append(DomainEventType.READER_CREATED, 1, result);
     }
 
     @Test
@@ -136,5 +198,6 @@ class ReaderServiceImplTest {
         readerService.deleteReaderById(1);
 
         verify(readerRepository).deleteById(1);
+        verify(outboxService).append(DomainEventType.READER_DELETED, 1, Map.of());
     }
 }
@@ -0,0 +1,168 @@
+package com.anastasiat.replica;
+
+import com.anastasiat.exception.InvalidRequestException;
+import com.anastasiat.replica.ReplicaRoutingDataSource.Replica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private Replica replica;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        replica = new Replica("replica-1", replicaDataSource);
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
+        ReadConsistency.end();
+    }
+
+    @Test
+    void readOnly_ReplicaCaughtUp_ReadsFromReplica() throws SQLException {
+        replica.update(WalPosition.parse("0/3000000"), 0, true);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        ReadConsistency.begin(WalPosition.parse("0/2000000"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.getReplicaReads());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void readOnly_ReplicaBehindToken_ReadsFromPrimary() throws SQLException {
+        replica.update(WalPosition.parse("0/1000000"), 0, true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadConsistency.begin(WalPosition.parse("0/2000000"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.getPrimaryReads());
+        verifyNoInteractions(replicaDataSource);
+    }
+
+    @Test
+    void readOnly_ReplicaUnavailable_ReadsFromPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replicaDataSource);
+    }
+
+    @Test
+    void readOnly_ReplicaConnectionFails_FallsBackToPrimaryAndMarksReplica() throws SQLException {
+        replica.update(WalPosition.parse("0/3000000"), 0, true);
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertFalse(replica.available());
+    }
+
+    @Test
+    void write_ReadsFromPrimaryAndPinsRequestToPrimary() throws SQLException {
+        replica.update(WalPosition.parse("0/3000000"), 0, true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        ReadConsistency.begin(0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replicaDataSource);
+    }
+
+    @Test
+    void write_OutsideApiRequest_IssuesNoToken() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void close_ClosesPrimaryAndReplicaPools() throws Exception {
+        DataSource primaryPool = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        DataSource replicaPool = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        doThrow(new IllegalStateException("already closed")).when((AutoCloseable) primaryPool).close();
+
+        new ReplicaRoutingDataSource(primaryPool, List.of(new Replica("replica-1", replicaPool))).close();
+
+        verify((AutoCloseable) primaryPool).close();
+        verify((AutoCloseable) replicaPool).close();
+    }
+
+    @Test
+    void readOnly_LaterReadsOfRequestStayOnFirstNode() throws SQLException {
+        Replica secondReplica = new Replica("replica-2", mock(DataSource.class));
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica, secondReplica));
+        replica.update(WalPosition.parse("0/3000000"), 0, true);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        ReadConsistency.begin(0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        secondReplica.update(WalPosition.parse("0/3000000"), 0, true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        verifyNoInteractions(secondReplica.dataSource());
+    }
+
+    @Test
+    void walPosition_ParsesAndFormatsLsn() {
+        long position = WalPosition.parse("16/B374D848");
+
+        assertEquals(0x16B374D848L, position);
+        assertEquals("16/B374D848", WalPosition.format(position));
+        assertThrows(InvalidRequestException.class, () -> WalPosition.parse("16B374D848"));
+        assertThrows(InvalidRequestException.class, () -> WalPosition.parse("zz/1"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.anastasiat.waitlist.service;
+
+import com.anastasiat.book.entity.Book;
+import com.anastasiat.book.service.BookService;
+import com.anastasiat.exception.NotExistsException;
+import com.anastasiat.exception.UnavailableOperationException;
+import com.anastasiat.reader.entity.Reader;
+import com.anastasiat.reader.service.ReaderService;
+import com.anastasiat.waitlist.entity.WaitlistPosition;
+import com.anastasiat.waitlist.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceImplTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private ReaderService readerService;
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    private Book book;
+    private Reader holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new Reader();
+        holder.setId(1);
+
+        book = new Book();
+        book.setId(10);
+        book.setIsBorrowed(true);
+        book.setReader(holder);
+    }
+
+    @Test
+    void testEnqueue() {
+        when(readerService.findReaderById(2)).thenReturn(Optional.of(new Reader()));
+        when(bookService.findBookByIdForUpdate(10)).thenReturn(Optional.of(book));
+        when(waitlistRepository.enqueue(10, 2)).thenReturn(true);
+        when(waitlistRepository.findPosition(10, 2)).thenReturn(3);
+
+        WaitlistPosition position = waitlistService.enqueue(2, 10);
+
+        assertEquals(new WaitlistPosition(10, 2, 3), position);
+    }
+
+    @Test
+    void testEnqueueAvailableBook() {
+        book.setIsBorrowed(false);
+        when(readerService.findReaderById(2)).thenReturn(Optional.of(new Reader()));
+        when(bookService.findBookByIdForUpdate(10)).thenReturn(Optional.of(book));
+
+        UnavailableOperationException exception =
+                assertThrows(UnavailableOperationException.class, () -> waitlistService.enqueue(2, 10));
+
+        assertEquals("library.errors.waitlist.book_available", exception.getMessage());
+        verify(waitlistRepository, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void testEnqueueByHolder() {
+        when(readerService.findReaderById(1)).thenReturn(Optional.of(holder));
+        when(bookService.findBookByIdForUpdate(10)).thenReturn(Optional.of(book));
+
+        UnavailableOperationException exception =
+                assertThrows(UnavailableOperationException.class, () -> waitlistService.enqueue(1, 10));
+
+        assertEquals("library.errors.waitlist.book_held", exception.getMessage());
+    }
+
+    @Test
+    void testFindPosition() {
+        when(waitlistRepository.findPosition(10, 2)).thenReturn(1);
+
+        assertEquals(new WaitlistPosition(10, 2, 1), waitlistService.findPosition(2, 10));
+    }
+
+    @Test
+    void testFindPositionNotQueued() {
+        when(waitlistRepository.findPosition(10, 2)).thenReturn(0);
+
+        assertThrows(NotExistsException.class, () -> waitlistService.findPosition(2, 10));
+    }
+
+    @Test
+    void testPollNext() {
+        when(waitlistRepository.pollHeads(List.of(10, 11))).thenReturn(Map.of(10, 2));
+
+        assertEquals(Map.of(10, 2), waitlistService.pollNext(List.of(10, 11)));
+    }
+
+    @Test
+    void testPollNextSkipsEmptyBatch() {
+        assertEquals(Map.of(), waitlistService.pollNext(List.of()));
+        verifyNoInteractions(waitlistRepository);
+    }
+}
@@ -10,7 +10,7 @@ public interface AuthorRestClient {
 
     List<AuthorDTO> findAllAuthors();
 
-    AuthorPageDTO findAllAuthors(int page, int size);
+    AuthorPageDTO findAllAuthors(int page, int size, boolean withTotal);
 
     AuthorDTO createAuthor(String firstName, String lastName, String middleName, LocalDate birthDate);
 
@@ -3,8 +3,11 @@ package com.anastasiat.author.client;
 import com.anastasiat.author.controller.payload.NewAuthorPayload;
 import com.anastasiat.author.entity.AuthorDTO;
 import com.anastasiat.author.entity.AuthorPageDTO;
+import com.anastasiat.config.CacheConfig;
 import com.anastasiat.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
@@ -31,6 +34,7 @@ public class AuthorRestClientImpl implements AuthorRestClient {
     private final RestClient libraryRestClient;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "'all'", sync = true)
     public List<AuthorDTO> findAllAuthors() {
         return libraryRestClient
                 .get()
@@ -40,18 +44,20 @@ public class AuthorRestClientImpl implements AuthorRestClient {
     }
 
     @Override
-    public AuthorPageDTO findAllAuthors(int page, int size) {
+    public AuthorPageDTO findAllAuthors(int page, int size, boolean withTotal) {
         return libraryRestClient
                 .get()
                 .uri(uriBuilder -> uriBuilder.path("library-api/authors")
                         .queryParam("page", page)
                         .queryParam("size", size)
+                        .queryParam("withTotal", withTotal)
                         .build())
                 .retrieve()
                 .body(AUTHOR_PAGE_DTO_PARAMETERIZED_TYPE_REFERENCE);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS, allEntries = true)
     public AuthorDTO createAuthor(String firstName, String lastName, String middleName, LocalDate birthDate) {
         try {
             return libraryRestClient
@@ -81,6 +87,7 @@ public class AuthorRestClientImpl implements AuthorRestClient {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS, allEntries = true)
     public void deleteAuthor(Integer authorId) {
         try {
             libraryRestClient
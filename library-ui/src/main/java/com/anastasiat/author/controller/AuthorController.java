@@ -4,6 +4,9 @@ import com.anastasiat.author.client.AuthorRestClient;
 import com.anastasiat.author.controller.payload.NewAuthorPayload;
 import com.anastasiat.author.entity.AuthorDTO;
 import com.anastasiat.author.entity.AuthorPageDTO;
+import com.anastasiat.book.client.BookRestClient;
+import com.anastasiat.book.entity.BookCursorPageDTO;
+import com.anastasiat.client.BackendCalls;
 import com.anastasiat.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -16,17 +19,22 @@ import org.springframework.web.bind.annotation.*;
 public class AuthorController {
 
     private final AuthorRestClient authorRestClient;
+    private final BookRestClient bookRestClient;
+    private final BackendCalls backendCalls;
 
     @GetMapping("list")
     public String getAuthorsList(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             Model model
     ) {
-        AuthorPageDTO authorPage = authorRestClient.findAllAuthors(page, size);
+        AuthorPageDTO authorPage = authorRestClient.findAllAuthors(page, size, withTotal);
         model.addAttribute("authors", authorPage.getContent());
         model.addAttribute("currentPage", page);
+        model.addAttribute("size", size);
         model.addAttribute("totalPages", authorPage.getTotalPages());
+        model.addAttribute("hasNext", !authorPage.isLast());
         return "library/authors/list";
     }
 
@@ -54,9 +62,21 @@ public class AuthorController {
     }
 
     @GetMapping("/{authorId}")
-    public String getAuthor(@PathVariable("authorId") Integer authorId, Model model) {
-        AuthorDTO author = authorRestClient.findAuthor(authorId);
-        model.addAttribute("author", author);
+    public String getAuthor(
+            @PathVariable("authorId") Integer authorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Model model
+    ) {
+        BackendCalls.FanOut fanOut = backendCalls.fanOut();
+        BackendCalls.Fork<AuthorDTO> author = fanOut.fork(() -> authorRestClient.findAuthor(authorId));
+        BackendCalls.Fork<BookCursorPageDTO> bookPage = fanOut.fork(
+                () -> bookRestClient.findAuthorBooks(authorId, after, size));
+        fanOut.join();
+        model.addAttribute("author", author.get());
+        model.addAttribute("books", bookPage.get().getContent());
+        model.addAttribute("nextCursor", bookPage.get().getNextCursor());
+        model.addAttribute("size", size);
         return "library/authors/author";
     }
 
@@ -9,7 +9,7 @@ import java.util.List;
 @AllArgsConstructor
 public class AuthorPageDTO {
     private List<AuthorDTO> content;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
 }
@@ -1,12 +1,24 @@
 package com.anastasiat.book.client;
 
+import com.anastasiat.book.entity.BookCursorPageDTO;
 import com.anastasiat.book.entity.BookDTO;
+import com.anastasiat.book.entity.BookOperationResultDTO;
 import com.anastasiat.book.entity.BookPageDTO;
 
+import java.util.List;
+
 public interface BookRestClient {
 
     BookPageDTO findAllBooks(int page, int size);
 
+    BookCursorPageDTO findAllBooks(String after, int size);
+
+    BookCursorPageDTO searchBooks(String query, String after, int size);
+
+    BookCursorPageDTO findReaderBooks(Integer readerId, String after, int size);
+
+    BookCursorPageDTO findAuthorBooks(Integer authorId, String after, int size);
+
     BookDTO createBook(String title, Integer authorId);
 
     BookDTO findBook(Integer bookId);
@@ -15,5 +27,9 @@ public interface BookRestClient {
 
     void returnBook(Integer readerId, Integer bookId);
 
+    List<BookOperationResultDTO> borrowBooks(Integer readerId, List<Integer> bookIds);
+
+    List<BookOperationResultDTO> returnBooks(Integer readerId, List<Integer> bookIds);
+
     void deleteBook(Integer bookId);
 }
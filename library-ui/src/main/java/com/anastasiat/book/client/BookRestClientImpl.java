@@ -1,7 +1,10 @@
 package com.anastasiat.book.client;
 
+import com.anastasiat.book.controller.payload.BatchBookPayload;
 import com.anastasiat.book.controller.payload.NewBookPayload;
+import com.anastasiat.book.entity.BookCursorPageDTO;
 import com.anastasiat.book.entity.BookDTO;
+import com.anastasiat.book.entity.BookOperationResultDTO;
 import com.anastasiat.book.entity.BookPageDTO;
 import com.anastasiat.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +26,14 @@ public class BookRestClientImpl implements BookRestClient {
             new ParameterizedTypeReference<>() {
             };
 
+    private static final ParameterizedTypeReference<BookCursorPageDTO> BOOKS_CURSOR_TYPE_REFERENCE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final ParameterizedTypeReference<List<BookOperationResultDTO>> BOOK_OPERATION_RESULTS_TYPE_REFERENCE =
+            new ParameterizedTypeReference<>() {
+            };
+
     private final RestClient libraryRestClient;
 
     @Override
@@ -37,6 +48,55 @@ public class BookRestClientImpl implements BookRestClient {
                 .body(BOOKS_TYPE_REFERENCE);
     }
 
+    @Override
+    public BookCursorPageDTO findAllBooks(String after, int size) {
+        return libraryRestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("library-api/books")
+                        .queryParam("after", after == null ? "" : after)
+                        .queryParam("size", size)
+                        .build())
+                .retrieve()
+                .body(BOOKS_CURSOR_TYPE_REFERENCE);
+    }
+
+    @Override
+    public BookCursorPageDTO searchBooks(String query, String after, int size) {
+        return libraryRestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("library-api/books/search")
+                        .queryParam("q", query)
+                        .queryParam("after", after == null ? "" : after)
+                        .queryParam("size", size)
+                        .build())
+                .retrieve()
+                .body(BOOKS_CURSOR_TYPE_REFERENCE);
+    }
+
+    @Override
+    public BookCursorPageDTO findReaderBooks(Integer readerId, String after, int size) {
+        return libraryRestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("library-api/readers/{readerId}/books")
+                        .queryParam("after", after == null ? "" : after)
+                        .queryParam("size", size)
+                        .build(readerId))
+                .retrieve()
+                .body(BOOKS_CURSOR_TYPE_REFERENCE);
+    }
+
+    @Override
+    public BookCursorPageDTO findAuthorBooks(Integer authorId, String after, int size) {
+        return libraryRestClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("library-api/authors/{authorId}/books")
+                        .queryParam("after", after == null ? "" : after)
+                        .queryParam("size", size)
+                        .build(authorId))
+                .retrieve()
+                .body(BOOKS_CURSOR_TYPE_REFERENCE);
+    }
+
     @Override
     public BookDTO createBook(String title, Integer authorId) {
         try {
@@ -92,6 +152,16 @@ public class BookRestClientImpl implements BookRestClient {
                 .retrieve();
     }
 
+    @Override
+    public List<BookOperationResultDTO> borrowBooks(Integer readerId, List<Integer> bookIds) {
+        return postBatch("/library-api/books/borrow/batch", readerId, bookIds);
+    }
+
+    @Override
+    public List<BookOperationResultDTO> returnBooks(Integer readerId, List<Integer> bookIds) {
+        return postBatch("/library-api/books/return/batch", readerId, bookIds);
+    }
+
     @Override
     public void deleteBook(Integer bookId) {
         try {
@@ -105,4 +175,22 @@ public class BookRestClientImpl implements BookRestClient {
             throw new NoSuchElementException(problemDetail.getProperties().get("errors").toString());
         }
     }
+
+    private List<BookOperationResultDTO> postBatch(String path, Integer readerId, List<Integer> bookIds) {
+        try {
+            return libraryRestClient
+                    .post()
+                    .uri(path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new BatchBookPayload(readerId, bookIds))
+                    .retrieve()
+                    .body(BOOK_OPERATION_RESULTS_TYPE_REFERENCE);
+        } catch (HttpClientErrorException.BadRequest exception) {
+            ProblemDetail problemDetail = exception.getResponseBodyAs(ProblemDetail.class);
+            throw new BadRequestException((List<String>) problemDetail.getProperties().get("errors"));
+        } catch (HttpClientErrorException.NotFound exception) {
+            ProblemDetail problemDetail = exception.getResponseBodyAs(ProblemDetail.class);
+            throw new NoSuchElementException(problemDetail.getProperties().get("errors").toString());
+        }
+    }
 }
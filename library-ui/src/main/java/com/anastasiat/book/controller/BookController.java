@@ -2,11 +2,13 @@ package com.anastasiat.book.controller;
 
 import com.anastasiat.author.client.AuthorRestClient;
 import com.anastasiat.book.client.BookRestClient;
+import com.anastasiat.client.BackendCalls;
 import com.anastasiat.book.controller.payload.NewBookPayload;
+import com.anastasiat.book.entity.BookCursorPageDTO;
 import com.anastasiat.book.entity.BookDTO;
-import com.anastasiat.book.entity.BookPageDTO;
 import com.anastasiat.exception.BadRequestException;
 import com.anastasiat.reader.client.ReaderRestClient;
+import com.anastasiat.reader.entity.ReaderCursorPageDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,20 +19,27 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("library/books")
 public class BookController {
 
+    private static final int READER_PICKER_SIZE = 20;
+
     private final BookRestClient bookRestClient;
     private final AuthorRestClient authorRestClient;
     private final ReaderRestClient readerRestClient;
+    private final BackendCalls backendCalls;
 
     @GetMapping("list")
     public String getBooksList(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String after,
             @RequestParam(defaultValue = "20") int size,
             Model model
     ) {
-        BookPageDTO bookPage = bookRestClient.findAllBooks(page, size);
+        BookCursorPageDTO bookPage = q.isBlank()
+                ? bookRestClient.findAllBooks(after, size)
+                : bookRestClient.searchBooks(q, after, size);
         model.addAttribute("books", bookPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", bookPage.getTotalPages());
+        model.addAttribute("nextCursor", bookPage.getNextCursor());
+        model.addAttribute("size", size);
+        model.addAttribute("q", q);
         return "library/books/list";
     }
 
@@ -42,23 +51,28 @@ public class BookController {
 
     @PostMapping("create")
     public String createBook(NewBookPayload payload, Model model) {
+        BookDTO book;
         try {
-            BookDTO book = bookRestClient.createBook(payload.title(), payload.authorId());
-            model.addAttribute("book", book);
-            model.addAttribute("readers", readerRestClient.findAllReaders());
-            return "library/books/book";
+            // a write is never forked: a failing sibling would cancel it after the book may have been committed
+            book = bookRestClient.createBook(payload.title(), payload.authorId());
         } catch (BadRequestException exception) {
             model.addAttribute("payload", payload);
             model.addAttribute("errors", exception.getErrors());
             return "library/books/new_book";
         }
+        model.addAttribute("book", book);
+        addReaderPicker(model, findReaderPickerPage());
+        return "library/books/book";
     }
 
     @GetMapping("/{bookId}")
     public String getBook(@PathVariable("bookId") Integer bookId, Model model) {
-        BookDTO book = bookRestClient.findBook(bookId);
-        model.addAttribute("book", book);
-        model.addAttribute("readers", readerRestClient.findAllReaders());
+        BackendCalls.FanOut fanOut = backendCalls.fanOut();
+        BackendCalls.Fork<BookDTO> book = fanOut.fork(() -> bookRestClient.findBook(bookId));
+        BackendCalls.Fork<ReaderCursorPageDTO> readerPage = fanOut.fork(this::findReaderPickerPage);
+        fanOut.join();
+        model.addAttribute("book", book.get());
+        addReaderPicker(model, readerPage.get());
         return "library/books/book";
     }
 
@@ -79,4 +93,14 @@ public class BookController {
         bookRestClient.deleteBook(bookId);
         return "redirect:/library/books/list";
     }
+
+    private ReaderCursorPageDTO findReaderPickerPage() {
+        return readerRestClient.searchReaders("", null, READER_PICKER_SIZE);
+    }
+
+    private void addReaderPicker(Model model, ReaderCursorPageDTO readerPage) {
+        model.addAttribute("readers", readerPage.getContent());
+        model.addAttribute("readersNextCursor", readerPage.getNextCursor());
+        model.addAttribute("readerPickerSize", READER_PICKER_SIZE);
+    }
 }
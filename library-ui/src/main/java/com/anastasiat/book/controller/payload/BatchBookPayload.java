@@ -0,0 +1,6 @@
+package com.anastasiat.book.controller.payload;
+
+import java.util.List;
+
+public record BatchBookPayload(Integer readerId, List<Integer> bookIds) {
+}
@@ -0,0 +1,11 @@
+package com.anastasiat.book.entity;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BookCursorPageDTO {
+    private List<BookSummaryDTO> content;
+    private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package com.anastasiat.book.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookOperationResultDTO {
+
+    private Integer bookId;
+    private boolean success;
+    private String message;
+}
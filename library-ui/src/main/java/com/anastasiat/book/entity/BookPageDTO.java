@@ -6,7 +6,7 @@ import java.util.List;
 
 @Data
 public class BookPageDTO {
-    private List<BookDTO> content;
+    private List<BookSummaryDTO> content;
     private long totalElements;
     private int totalPages;
     private boolean last;
@@ -0,0 +1,17 @@
+package com.anastasiat.book.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class BookSummaryDTO {
+
+    private Integer id;
+    private String title;
+    private String authorName;
+    private Boolean isBorrowed;
+    private LocalDate borrowDate;
+}
@@ -0,0 +1,124 @@
+package com.anastasiat.client;
+
+import com.anastasiat.exception.BackendTimeoutException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent backend calls of one page concurrently on a bounded executor.
+ * <p>
+ * Every call has its own timeout. The first call to fail or time out cancels (interrupts) the others, and
+ * {@link FanOut#join()} rethrows that original exception, so callers handle the same exceptions as for
+ * sequential calls. Calls see the request attributes of the thread that forked them, as sequential calls would.
+ */
+public class BackendCalls {
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public BackendCalls(ExecutorService executor, Duration timeout) {
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    public FanOut fanOut() {
+        return new FanOut();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public class FanOut {
+
+        private final List<Fork<?>> forks = new CopyOnWriteArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private FanOut() {
+        }
+
+        public <T> Fork<T> fork(Supplier<T> call) {
+            return fork(call, timeout);
+        }
+
+        public <T> Fork<T> fork(Supplier<T> call, Duration callTimeout) {
+            long deadline = System.nanoTime() + callTimeout.toNanos();
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            Future<T> future = executor.submit(() -> {
+                RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                try {
+                    return call.get();
+                } catch (RuntimeException exception) {
+                    fail(exception);
+                    throw exception;
+                } finally {
+                    RequestContextHolder.setRequestAttributes(previous);
+                }
+            });
+            Fork<T> fork = new Fork<>(this, future, deadline);
+            forks.add(fork);
+            if (failure.get() != null) {
+                future.cancel(true);
+            }
+            return fork;
+        }
+
+        public void join() {
+            for (Fork<?> fork : forks) {
+                fork.get();
+            }
+        }
+
+        private void fail(RuntimeException exception) {
+            if (failure.compareAndSet(null, exception)) {
+                forks.forEach(fork -> fork.future.cancel(true));
+            }
+        }
+    }
+
+    public static class Fork<T> {
+
+        private final FanOut fanOut;
+        private final Future<T> future;
+        private final long deadline;
+
+        private Fork(FanOut fanOut, Future<T> future, long deadline) {
+            this.fanOut = fanOut;
+            this.future = future;
+            this.deadline = deadline;
+        }
+
+        public T get() {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException exception) {
+                fanOut.fail(new BackendTimeoutException("Сервис библиотеки не ответил вовремя"));
+            } catch (ExecutionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    fanOut.fail(cause);
+                } else {
+                    fanOut.fail(new IllegalStateException(exception.getCause()));
+                }
+            } catch (CancellationException exception) {
+                fanOut.fail(exception);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                fanOut.fail(new IllegalStateException(exception));
+            }
+            throw fanOut.failure.get();
+        }
+    }
+}
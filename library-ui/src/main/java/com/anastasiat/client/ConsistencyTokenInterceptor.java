@@ -0,0 +1,77 @@
+package com.anastasiat.client;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the consistency token the service returns after a write: it is kept in a short-lived cookie and sent
+ * with every later backend call of that browser, so the service serves its reads from a node that has the
+ * write already, even if a lagging replica would otherwise answer.
+ */
+public class ConsistencyTokenInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+    public static final String TOKEN_COOKIE = "library-consistency";
+
+    private static final String TOKEN_ATTRIBUTE = ConsistencyTokenInterceptor.class.getName() + ".token";
+
+    private final Duration maxAge;
+
+    public ConsistencyTokenInterceptor(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServletRequestAttributes attributes = RequestContextHolder.getRequestAttributes()
+                instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+        if (attributes != null) {
+            String token = currentToken(attributes.getRequest());
+            if (token != null) {
+                request.getHeaders().set(TOKEN_HEADER, token);
+            }
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        String issued = response.getHeaders().getFirst(TOKEN_HEADER);
+        if (attributes != null && issued != null) {
+            remember(attributes, issued);
+        }
+        return response;
+    }
+
+    /**
+     * A token issued earlier in the same request wins over the cookie, which still holds the previous one.
+     */
+    private String currentToken(HttpServletRequest request) {
+        if (request.getAttribute(TOKEN_ATTRIBUTE) instanceof String token) {
+            return token;
+        }
+        Cookie cookie = WebUtils.getCookie(request, TOKEN_COOKIE);
+        return cookie == null || cookie.getValue().isBlank() ? null : cookie.getValue();
+    }
+
+    private void remember(ServletRequestAttributes attributes, String token) {
+        attributes.getRequest().setAttribute(TOKEN_ATTRIBUTE, token);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(TOKEN_COOKIE, token);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) maxAge.toSeconds());
+            response.addCookie(cookie);
+        }
+    }
+}
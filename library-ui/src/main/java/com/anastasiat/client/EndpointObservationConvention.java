@@ -0,0 +1,25 @@
+package com.anastasiat.client;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import java.util.regex.Pattern;
+
+/**
+ * Tags client metrics with the request path when a call is built with a URI builder instead of a template,
+ * so every backend endpoint gets its own latency series instead of {@code uri="none"}. Numeric path segments
+ * are replaced with {@code {id}}, so the number of series does not grow with the catalog.
+ */
+public class EndpointObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        if (context.getUriTemplate() == null && context.getCarrier() != null) {
+            return KeyValue.of("uri", ID_SEGMENT.matcher(context.getCarrier().getURI().getPath()).replaceAll("/{id}"));
+        }
+        return super.uri(context);
+    }
+}
@@ -0,0 +1,119 @@
+package com.anastasiat.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last body of every GET that came with an ETag and revalidates it with {@code If-None-Match}:
+ * on 304 the cached body is replayed as a 200, so repeat page views transfer only headers.
+ */
+public class RevalidatingCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Map<String, CachedResponse> cache;
+    private final Counter notModified;
+    private final Counter modified;
+
+    public RevalidatingCacheInterceptor(int maxEntries, MeterRegistry meterRegistry) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.notModified = revalidations(meterRegistry, "not_modified");
+        this.modified = revalidations(meterRegistry, "modified");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String key = request.getURI().toString();
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.eTag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            response.close();
+            notModified.increment();
+            return cached.toResponse();
+        }
+        if (cached != null) {
+            modified.increment();
+        }
+
+        String eTag = response.getHeaders().getETag();
+        if (response.getStatusCode() != HttpStatus.OK || eTag == null) {
+            cache.remove(key);
+            return response;
+        }
+        try (response) {
+            CachedResponse fresh = new CachedResponse(
+                    eTag, HttpHeaders.readOnlyHttpHeaders(response.getHeaders()),
+                    StreamUtils.copyToByteArray(response.getBody())
+            );
+            cache.put(key, fresh);
+            return fresh.toResponse();
+        }
+    }
+
+    private static Counter revalidations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("library.http.client.revalidations")
+                .description("Conditional GETs sent for cached library service responses")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(String eTag, HttpHeaders headers, byte[] body) {
+
+        ClientHttpResponse toResponse() {
+            return new ClientHttpResponse() {
+
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return HttpStatus.OK;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return HttpStatus.OK.getReasonPhrase();
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
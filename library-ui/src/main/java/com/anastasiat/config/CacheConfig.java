@@ -0,0 +1,57 @@
+package com.anastasiat.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String AUTHORS = "authors";
+    public static final String READER_PICKER = "reader-picker";
+
+    @Value("${config.cache.spec}")
+    private String cacheSpec;
+
+    /**
+     * Caches are declared up front so their hit rate and load time are published as cache metrics.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(AUTHORS, READER_PICKER);
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(cacheSpec));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    /**
+     * Caffeine records load times for {@code sync} lookups, but Micrometer only publishes them for loading caches.
+     */
+    @Bean
+    public MeterBinder cacheLoadMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            FunctionTimer.builder("library.cache.load", cache.getNativeCache(),
+                            nativeCache -> loadCount(nativeCache.stats()),
+                            nativeCache -> nativeCache.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                    .description("Backend calls made to fill the cache on a miss")
+                    .tag("cache", name)
+                    .register(registry);
+        });
+    }
+
+    private static long loadCount(CacheStats stats) {
+        return stats.loadSuccessCount() + stats.loadFailureCount();
+    }
+}
@@ -1,19 +1,58 @@
 package com.anastasiat.config;
 
+import com.anastasiat.client.BackendCalls;
+import com.anastasiat.client.ConsistencyTokenInterceptor;
+import com.anastasiat.client.EndpointObservationConvention;
+import com.anastasiat.client.RevalidatingCacheInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class ClientConfig {
 
     @Bean
     public RestClient libraryRestClient(
-            @Value("${service.library-ui.uri}") String libraryUIBaseUrl
+            @Value("${service.library-ui.uri}") String libraryUIBaseUrl,
+            @Value("${config.http-client.revalidation-cache-size}") int revalidationCacheSize,
+            @Value("${config.consistency-token.max-age}") Duration consistencyTokenMaxAge,
+            RestClient.Builder restClientBuilder,
+            ClientHttpRequestFactory libraryRequestFactory,
+            MeterRegistry meterRegistry
     ) {
-        return RestClient.builder()
+        return restClientBuilder
                 .baseUrl(libraryUIBaseUrl)
+                .requestFactory(libraryRequestFactory)
+                .requestInterceptor(new ConsistencyTokenInterceptor(consistencyTokenMaxAge))
+                .requestInterceptor(new RevalidatingCacheInterceptor(revalidationCacheSize, meterRegistry))
+                .observationConvention(new EndpointObservationConvention())
                 .build();
     }
+
+    @Bean
+    public BackendCalls backendCalls(
+            @Value("${config.backend-calls.pool-size}") int poolSize,
+            @Value("${config.backend-calls.queue-capacity}") int queueCapacity,
+            @Value("${config.backend-calls.timeout}") Duration timeout,
+            Environment environment
+    ) {
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("backend-call-", 0).factory()
+                : Thread.ofPlatform().name("backend-call-", 0).daemon().factory();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return new BackendCalls(executor, timeout);
+    }
 }
@@ -0,0 +1,113 @@
+package com.anastasiat.config;
+
+import com.anastasiat.client.TimedConnectionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class HttpClientConfig {
+
+    private static final String POOL_NAME = "library-service";
+
+    @Configuration
+    @ConditionalOnProperty(name = "config.http-client.http2", havingValue = "false", matchIfMissing = true)
+    static class PooledTransportConfig {
+
+        @Bean
+        public TimedConnectionManager libraryConnectionManager(
+                @Value("${config.http-client.max-connections}") int maxConnections,
+                @Value("${config.http-client.max-connections-per-route}") int maxConnectionsPerRoute,
+                @Value("${config.http-client.connect-timeout}") Duration connectTimeout,
+                @Value("${config.http-client.response-timeout}") Duration responseTimeout,
+                @Value("${config.http-client.time-to-live}") Duration timeToLive,
+                MeterRegistry meterRegistry
+        ) {
+            Timer leaseTimer = Timer.builder("library.http.client.pool.wait")
+                    .description("Time spent waiting for a pooled connection to the library service")
+                    .tag("pool", POOL_NAME)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            TimedConnectionManager connectionManager = new TimedConnectionManager(leaseTimer);
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+            connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.of(connectTimeout))
+                    .setSocketTimeout(Timeout.of(responseTimeout))
+                    .setTimeToLive(TimeValue.of(timeToLive))
+                    .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                    .build());
+            return connectionManager;
+        }
+
+        @Bean
+        public MeterBinder libraryConnectionPoolMetrics(TimedConnectionManager libraryConnectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(libraryConnectionManager, POOL_NAME);
+        }
+
+        @Bean
+        public CloseableHttpClient libraryHttpClient(
+                TimedConnectionManager libraryConnectionManager,
+                @Value("${config.http-client.response-timeout}") Duration responseTimeout,
+                @Value("${config.http-client.connection-request-timeout}") Duration connectionRequestTimeout,
+                @Value("${config.http-client.idle-timeout}") Duration idleTimeout
+        ) {
+            return HttpClients.custom()
+                    .setConnectionManager(libraryConnectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                            .setResponseTimeout(Timeout.of(responseTimeout))
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.of(idleTimeout))
+                    .build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory libraryRequestFactory(CloseableHttpClient libraryHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(libraryHttpClient);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "config.http-client.http2", havingValue = "true")
+    static class Http2TransportConfig {
+
+        @Bean
+        public ClientHttpRequestFactory libraryRequestFactory(
+                @Value("${config.http-client.connect-timeout}") Duration connectTimeout,
+                @Value("${config.http-client.response-timeout}") Duration responseTimeout,
+                Environment environment
+        ) {
+            HttpClient.Builder httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout);
+            if (Threading.VIRTUAL.isActive(environment)) {
+                httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+            }
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+            requestFactory.setReadTimeout(responseTimeout);
+            return requestFactory;
+        }
+    }
+}
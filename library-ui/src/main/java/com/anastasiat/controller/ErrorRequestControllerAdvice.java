@@ -1,5 +1,6 @@
 package com.anastasiat.controller;
 
+import com.anastasiat.exception.BackendTimeoutException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.ui.Model;
@@ -18,4 +19,12 @@ public class ErrorRequestControllerAdvice {
         model.addAttribute("error", exception.getMessage());
         return "errors/error";
     }
+
+    @ExceptionHandler(BackendTimeoutException.class)
+    public String handleBackendTimeoutException(BackendTimeoutException exception, Model model,
+                                                HttpServletResponse response) {
+        response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+        model.addAttribute("error", exception.getMessage());
+        return "errors/error";
+    }
 }
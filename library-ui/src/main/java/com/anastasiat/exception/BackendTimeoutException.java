@@ -0,0 +1,8 @@
+package com.anastasiat.exception;
+
+public class BackendTimeoutException extends RuntimeException {
+
+    public BackendTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,14 @@
 package com.anastasiat.reader.client;
 
+import com.anastasiat.reader.entity.ReaderCursorPageDTO;
 import com.anastasiat.reader.entity.ReaderDTO;
 import com.anastasiat.reader.entity.ReaderPageDTO;
 
-import java.util.List;
-
 public interface ReaderRestClient {
 
-    List<ReaderDTO> findAllReaders();
+    ReaderPageDTO findAllReaders(int page, int size, boolean withTotal);
 
-    ReaderPageDTO findAllReaders(int page, int size);
+    ReaderCursorPageDTO searchReaders(String query, String after, int size);
 
     ReaderDTO createReader(String firstName, String lastName, String middleName, String email);
 
@@ -1,10 +1,14 @@
 package com.anastasiat.reader.client;
 
+import com.anastasiat.config.CacheConfig;
 import com.anastasiat.exception.BadRequestException;
 import com.anastasiat.reader.controller.payload.NewReaderPayload;
+import com.anastasiat.reader.entity.ReaderCursorPageDTO;
 import com.anastasiat.reader.entity.ReaderDTO;
 import com.anastasiat.reader.entity.ReaderPageDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
@@ -19,38 +23,52 @@ import java.util.NoSuchElementException;
 @Service
 public class ReaderRestClientImpl implements ReaderRestClient {
 
-    private static final ParameterizedTypeReference<List<ReaderDTO>> READERS_TYPE_REFERENCE =
+    private static final ParameterizedTypeReference<ReaderPageDTO> READER_PAGE_DTO_PARAMETERIZED_TYPE_REFERENCE =
             new ParameterizedTypeReference<>() {
             };
 
-    private static final ParameterizedTypeReference<ReaderPageDTO> READER_PAGE_DTO_PARAMETERIZED_TYPE_REFERENCE =
+    private static final ParameterizedTypeReference<ReaderCursorPageDTO> READER_CURSOR_PAGE_TYPE_REFERENCE =
             new ParameterizedTypeReference<>() {
             };
 
     private final RestClient libraryRestClient;
 
     @Override
-    public List<ReaderDTO> findAllReaders() {
+    public ReaderPageDTO findAllReaders(int page, int size, boolean withTotal) {
         return libraryRestClient
                 .get()
-                .uri("library-api/readers/all")
+                .uri(uriBuilder -> uriBuilder.path("library-api/readers")
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .queryParam("withTotal", withTotal)
+                        .build())
                 .retrieve()
-                .body(READERS_TYPE_REFERENCE);
+                .body(READER_PAGE_DTO_PARAMETERIZED_TYPE_REFERENCE);
     }
 
+    /**
+     * Only the unfiltered first page is cached: it is what every book page renders in the reader picker.
+     */
     @Override
-    public ReaderPageDTO findAllReaders(int page, int size) {
+    @Cacheable(
+            cacheNames = CacheConfig.READER_PICKER,
+            condition = "(#query == null || #query.isEmpty()) && #after == null",
+            sync = true
+    )
+    public ReaderCursorPageDTO searchReaders(String query, String after, int size) {
         return libraryRestClient
                 .get()
-                .uri(uriBuilder -> uriBuilder.path("library-api/readers")
-                        .queryParam("page", page)
+                .uri(uriBuilder -> uriBuilder.path("library-api/readers/search")
+                        .queryParam("q", query == null ? "" : query)
+                        .queryParam("after", after == null ? "" : after)
                         .queryParam("size", size)
                         .build())
                 .retrieve()
-                .body(READER_PAGE_DTO_PARAMETERIZED_TYPE_REFERENCE);
+                .body(READER_CURSOR_PAGE_TYPE_REFERENCE);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.READER_PICKER, allEntries = true)
     public ReaderDTO createReader(String firstName, String lastName, String middleName, String email) {
         try {
             return libraryRestClient
@@ -80,6 +98,7 @@ public class ReaderRestClientImpl implements ReaderRestClient {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.READER_PICKER, allEntries = true)
     public void deleteReader(Integer readerId) {
         try {
             libraryRestClient
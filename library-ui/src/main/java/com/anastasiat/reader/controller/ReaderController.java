@@ -1,8 +1,12 @@
 package com.anastasiat.reader.controller;
 
+import com.anastasiat.book.client.BookRestClient;
+import com.anastasiat.book.entity.BookCursorPageDTO;
+import com.anastasiat.client.BackendCalls;
 import com.anastasiat.exception.BadRequestException;
 import com.anastasiat.reader.client.ReaderRestClient;
 import com.anastasiat.reader.controller.payload.NewReaderPayload;
+import com.anastasiat.reader.entity.ReaderCursorPageDTO;
 import com.anastasiat.reader.entity.ReaderDTO;
 import com.anastasiat.reader.entity.ReaderPageDTO;
 import lombok.RequiredArgsConstructor;
@@ -16,20 +20,35 @@ import org.springframework.web.bind.annotation.*;
 public class ReaderController {
 
     private final ReaderRestClient readerRestClient;
+    private final BookRestClient bookRestClient;
+    private final BackendCalls backendCalls;
 
     @GetMapping("list")
     public String getReadersList(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             Model model
     ) {
-        ReaderPageDTO readerPage = readerRestClient.findAllReaders(page, size);
+        ReaderPageDTO readerPage = readerRestClient.findAllReaders(page, size, withTotal);
         model.addAttribute("readers", readerPage.getContent());
         model.addAttribute("currentPage", page);
+        model.addAttribute("size", size);
         model.addAttribute("totalPages", readerPage.getTotalPages());
+        model.addAttribute("hasNext", !readerPage.isLast());
         return "library/readers/list";
     }
 
+    @GetMapping("search")
+    @ResponseBody
+    public ReaderCursorPageDTO searchReaders(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return readerRestClient.searchReaders(q, after, size);
+    }
+
     @GetMapping("create")
     public String getNewReaderPage() {
         return "library/readers/new_reader";
@@ -54,9 +73,21 @@ public class ReaderController {
     }
 
     @GetMapping("/{readerId}")
-    public String getReader(@PathVariable("readerId") Integer readerId, Model model) {
-        ReaderDTO reader = readerRestClient.findReader(readerId);
-        model.addAttribute("reader", reader);
+    public String getReader(
+            @PathVariable("readerId") Integer readerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            Model model
+    ) {
+        BackendCalls.FanOut fanOut = backendCalls.fanOut();
+        BackendCalls.Fork<ReaderDTO> reader = fanOut.fork(() -> readerRestClient.findReader(readerId));
+        BackendCalls.Fork<BookCursorPageDTO> bookPage = fanOut.fork(
+                () -> bookRestClient.findReaderBooks(readerId, after, size));
+        fanOut.join();
+        model.addAttribute("reader", reader.get());
+        model.addAttribute("books", bookPage.get().getContent());
+        model.addAttribute("nextCursor", bookPage.get().getNextCursor());
+        model.addAttribute("size", size);
         return "library/readers/reader";
     }
 
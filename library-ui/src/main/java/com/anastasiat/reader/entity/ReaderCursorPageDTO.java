@@ -0,0 +1,11 @@
+package com.anastasiat.reader.entity;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReaderCursorPageDTO {
+    private List<ReaderDTO> content;
+    private String nextCursor;
+}
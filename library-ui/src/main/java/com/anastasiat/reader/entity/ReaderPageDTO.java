@@ -7,7 +7,7 @@ import java.util.List;
 @Data
 public class ReaderPageDTO {
     private List<ReaderDTO> content;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
 }
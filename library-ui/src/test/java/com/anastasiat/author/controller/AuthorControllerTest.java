@@ -4,6 +4,10 @@ import com.anastasiat.author.client.AuthorRestClient;
 import com.anastasiat.author.controller.payload.NewAuthorPayload;
 import com.anastasiat.author.entity.AuthorDTO;
 import com.anastasiat.author.entity.AuthorPageDTO;
+import com.anastasiat.book.client.BookRestClient;
+import com.anastasiat.book.entity.BookCursorPageDTO;
+import com.anastasiat.book.entity.BookSummaryDTO;
+import com.anastasiat.client.BackendCalls;
 import com.anastasiat.exception.BadRequestException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -12,13 +16,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -35,6 +42,12 @@ class AuthorControllerTest {
     @Mock
     private AuthorRestClient authorRestClient;
 
+    @Mock
+    private BookRestClient bookRestClient;
+
+    @Spy
+    private BackendCalls backendCalls = new BackendCalls(Executors.newFixedThreadPool(2), Duration.ofSeconds(5));
+
     @InjectMocks
     private AuthorController authorController;
 
@@ -48,13 +61,14 @@ class AuthorControllerTest {
 
     @Test
     void getAuthorsList() throws Exception {
-        AuthorPageDTO authorPageDTO = new AuthorPageDTO(List.of(new AuthorDTO(1, "Тест", "Тестов", null, LocalDate.now())), 10, 1, true);
-        when(authorRestClient.findAllAuthors(0, 10)).thenReturn(authorPageDTO);
+        AuthorPageDTO authorPageDTO = new AuthorPageDTO(List.of(new AuthorDTO(1, "Тест", "Тестов", null, LocalDate.now())), null, null, true);
+        when(authorRestClient.findAllAuthors(0, 10, false)).thenReturn(authorPageDTO);
 
         mockMvc.perform(get("/library/authors/list?page=0&size=10"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/authors/list"))
-                .andExpect(model().attributeExists("authors", "currentPage", "totalPages"));
+                .andExpect(model().attributeExists("authors", "currentPage"))
+                .andExpect(model().attribute("hasNext", false));
     }
 
     @Test
@@ -98,12 +112,17 @@ class AuthorControllerTest {
     @Test
     void getAuthor_Success() throws Exception {
         AuthorDTO authorDTO = new AuthorDTO(1, "Тест", "Тестов", "Отчество", LocalDate.now());
+        BookCursorPageDTO bookPageDTO = new BookCursorPageDTO();
+        bookPageDTO.setContent(List.of(new BookSummaryDTO(7, "Название", "Тестов Тест Отчество", false, null)));
+
         when(authorRestClient.findAuthor(1)).thenReturn(authorDTO);
+        when(bookRestClient.findAuthorBooks(1, null, 20)).thenReturn(bookPageDTO);
 
         mockMvc.perform(get("/library/authors/{authorId}", 1))
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/authors/author"))
-                .andExpect(model().attributeExists("author"));
+                .andExpect(model().attributeExists("author"))
+                .andExpect(model().attribute("books", bookPageDTO.getContent()));
     }
 
     @Test
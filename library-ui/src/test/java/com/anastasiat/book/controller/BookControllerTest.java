@@ -5,23 +5,29 @@ import com.anastasiat.author.entity.AuthorDTO;
 import com.anastasiat.book.client.BookRestClient;
 import com.anastasiat.book.controller.payload.NewBookPayload;
 import com.anastasiat.book.entity.BookDTO;
-import com.anastasiat.book.entity.BookPageDTO;
+import com.anastasiat.book.entity.BookCursorPageDTO;
+import com.anastasiat.book.entity.BookSummaryDTO;
+import com.anastasiat.client.BackendCalls;
 import com.anastasiat.exception.BadRequestException;
 import com.anastasiat.reader.client.ReaderRestClient;
+import com.anastasiat.reader.entity.ReaderCursorPageDTO;
 import com.anastasiat.reader.entity.ReaderDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -42,6 +48,9 @@ class BookControllerTest {
     @Mock
     private ReaderRestClient readerRestClient;
 
+    @Spy
+    private BackendCalls backendCalls = new BackendCalls(Executors.newFixedThreadPool(2), Duration.ofSeconds(5));
+
     @InjectMocks
     private BookController bookController;
 
@@ -52,20 +61,36 @@ class BookControllerTest {
 
     @Test
     void getBooksList_Success() throws Exception {
-        BookPageDTO bookPageDTO = new BookPageDTO();
-        bookPageDTO.setContent(Collections.singletonList(new BookDTO(1, "Название", null, true, null, null)));
-        bookPageDTO.setTotalPages(1);
+        BookCursorPageDTO bookPageDTO = new BookCursorPageDTO();
+        bookPageDTO.setContent(Collections.singletonList(new BookSummaryDTO(1, "Название", "Фамилия Имя", true, null)));
+        bookPageDTO.setNextCursor("MQ");
 
-        when(bookRestClient.findAllBooks(0, 20)).thenReturn(bookPageDTO);
+        when(bookRestClient.findAllBooks("MA", 20)).thenReturn(bookPageDTO);
 
         mockMvc.perform(get("/library/books/list")
-                        .param("page", "0")
+                        .param("after", "MA")
                         .param("size", "20"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/books/list"))
                 .andExpect(model().attributeExists("books"))
-                .andExpect(model().attributeExists("currentPage"))
-                .andExpect(model().attributeExists("totalPages"));
+                .andExpect(model().attribute("nextCursor", "MQ"))
+                .andExpect(model().attribute("size", 20));
+    }
+
+    @Test
+    void getBooksList_Search() throws Exception {
+        BookCursorPageDTO bookPageDTO = new BookCursorPageDTO();
+        bookPageDTO.setContent(Collections.singletonList(new BookSummaryDTO(1, "Евгений Онегин", "Пушкин Александр", false, null)));
+
+        when(bookRestClient.searchBooks("онегин", null, 20)).thenReturn(bookPageDTO);
+
+        mockMvc.perform(get("/library/books/list")
+                        .param("q", "онегин"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("library/books/list"))
+                .andExpect(model().attributeExists("books"))
+                .andExpect(model().attribute("q", "онегин"));
+        verify(bookRestClient, never()).findAllBooks(any(), anyInt());
     }
 
     @Test
@@ -85,8 +110,11 @@ class BookControllerTest {
         BookDTO bookDTO = new BookDTO(1, "Название", null, true, null, null);
         ReaderDTO readerDTO = new ReaderDTO(1, "Тест", "Тестов", null, "test@example.com");
 
+        ReaderCursorPageDTO readerPage = new ReaderCursorPageDTO();
+        readerPage.setContent(Collections.singletonList(readerDTO));
+
         doReturn(bookDTO).when(bookRestClient).createBook(any(), any());
-        doReturn(Collections.singletonList(readerDTO)).when(readerRestClient).findAllReaders();
+        doReturn(readerPage).when(readerRestClient).searchReaders("", null, 20);
 
         mockMvc.perform(post("/library/books/create")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -110,19 +138,25 @@ class BookControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/books/new_book"))
                 .andExpect(model().attributeExists("errors"));
+
+        verifyNoInteractions(readerRestClient);
     }
 
     @Test
     void getBook_Success() throws Exception {
         BookDTO bookDTO = new BookDTO(1, "Название", null, true, null, null);
         when(bookRestClient.findBook(1)).thenReturn(bookDTO);
-        when(readerRestClient.findAllReaders()).thenReturn(Collections.singletonList(any()));
+        ReaderCursorPageDTO readerPage = new ReaderCursorPageDTO();
+        readerPage.setContent(Collections.singletonList(new ReaderDTO(1, "Тест", "Тестов", null, "test@example.com")));
+        readerPage.setNextCursor("MQ");
+        when(readerRestClient.searchReaders("", null, 20)).thenReturn(readerPage);
 
         mockMvc.perform(get("/library/books/{bookId}", 1))
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/books/book"))
                 .andExpect(model().attributeExists("book"))
-                .andExpect(model().attributeExists("readers"));
+                .andExpect(model().attributeExists("readers"))
+                .andExpect(model().attribute("readersNextCursor", "MQ"));
     }
 
     @Test
@@ -0,0 +1,109 @@
+package com.anastasiat.client;
+
+import com.anastasiat.exception.BackendTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendCallsTest {
+
+    private final BackendCalls backendCalls = new BackendCalls(Executors.newFixedThreadPool(4), Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        backendCalls.shutdown();
+    }
+
+    @Test
+    void join_RunsCallsConcurrently() {
+        CountDownLatch started = new CountDownLatch(2);
+        BackendCalls.FanOut fanOut = backendCalls.fanOut();
+        BackendCalls.Fork<String> first = fanOut.fork(() -> awaitSibling(started, "first"));
+        BackendCalls.Fork<String> second = fanOut.fork(() -> awaitSibling(started, "second"));
+
+        fanOut.join();
+
+        assertEquals("first", first.get());
+        assertEquals("second", second.get());
+    }
+
+    @Test
+    void join_FailedCall_RethrowsOriginalExceptionAndCancelsSiblings() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        NoSuchElementException failure = new NoSuchElementException("Книга не найдена");
+        BackendCalls.FanOut fanOut = backendCalls.fanOut();
+        fanOut.fork(() -> {
+            started.countDown();
+            return sleepUntilInterrupted(interrupted);
+        });
+        fanOut.fork(() -> {
+            assertDoesNotThrow(() -> started.await(5, TimeUnit.SECONDS));
+            throw failure;
+        });
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, fanOut::join);
+
+        assertSame(failure, exception);
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void join_SlowCall_ThrowsTimeoutAndCancelsIt() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BackendCalls.FanOut fanOut = backendCalls.fanOut();
+        fanOut.fork(() -> sleepUntilInterrupted(interrupted), Duration.ofMillis(50));
+
+        assertThrows(BackendTimeoutException.class, fanOut::join);
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void fork_SeesRequestAttributesOfCaller() {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            BackendCalls.FanOut fanOut = backendCalls.fanOut();
+            BackendCalls.Fork<RequestAttributes> fork = fanOut.fork(RequestContextHolder::getRequestAttributes);
+
+            fanOut.join();
+
+            assertSame(attributes, fork.get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static String awaitSibling(CountDownLatch started, String value) {
+        started.countDown();
+        try {
+            if (!started.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Вызовы выполняются последовательно");
+            }
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return value;
+    }
+
+    private static String sleepUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(Duration.ofSeconds(30));
+            return "slow";
+        } catch (InterruptedException exception) {
+            interrupted.countDown();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.anastasiat.client;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ConsistencyTokenInterceptorTest {
+
+    private MockRestServiceServer server;
+    private RestClient restClient;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl("http://library")
+                .requestInterceptor(new ConsistencyTokenInterceptor(Duration.ofMinutes(1)));
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_WithoutCookie_SendsNoToken() {
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(headerDoesNotExist(ConsistencyTokenInterceptor.TOKEN_HEADER))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+
+        server.verify();
+        assertNull(response.getCookie(ConsistencyTokenInterceptor.TOKEN_COOKIE));
+    }
+
+    @Test
+    void get_WithCookie_SendsToken() {
+        request.setCookies(new Cookie(ConsistencyTokenInterceptor.TOKEN_COOKIE, "0/16B3748"));
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(header(ConsistencyTokenInterceptor.TOKEN_HEADER, "0/16B3748"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+
+        server.verify();
+    }
+
+    @Test
+    void post_IssuedToken_StoredInCookieAndSentWithLaterCalls() {
+        request.setCookies(new Cookie(ConsistencyTokenInterceptor.TOKEN_COOKIE, "0/1000000"));
+        server.expect(requestTo("http://library/library-api/books"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)
+                        .header(ConsistencyTokenInterceptor.TOKEN_HEADER, "0/2000000"));
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(header(ConsistencyTokenInterceptor.TOKEN_HEADER, "0/2000000"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        restClient.post().uri("/library-api/books").retrieve().body(String.class);
+        restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+
+        server.verify();
+        Cookie cookie = response.getCookie(ConsistencyTokenInterceptor.TOKEN_COOKIE);
+        assertNotNull(cookie);
+        assertEquals("0/2000000", cookie.getValue());
+        assertEquals(60, cookie.getMaxAge());
+    }
+}
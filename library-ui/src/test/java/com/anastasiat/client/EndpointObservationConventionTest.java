@@ -0,0 +1,32 @@
+package com.anastasiat.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EndpointObservationConventionTest {
+
+    private final EndpointObservationConvention convention = new EndpointObservationConvention();
+
+    @Test
+    void uri_BuiltWithoutTemplate_ReplacesIdSegments() {
+        ClientRequestObservationContext context = new ClientRequestObservationContext(new MockClientHttpRequest(
+                HttpMethod.GET, URI.create("http://library/library-api/readers/42/books?after=MQ&size=20")));
+
+        assertEquals("/library-api/readers/{id}/books", convention.uri(context).getValue());
+    }
+
+    @Test
+    void uri_WithTemplate_UsesTemplate() {
+        ClientRequestObservationContext context = new ClientRequestObservationContext(new MockClientHttpRequest(
+                HttpMethod.GET, URI.create("http://library/library-api/books/7")));
+        context.setUriTemplate("/library-api/books/{bookId}");
+
+        assertEquals("/library-api/books/{bookId}", convention.uri(context).getValue());
+    }
+}
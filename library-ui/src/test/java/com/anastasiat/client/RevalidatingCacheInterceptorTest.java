@@ -0,0 +1,73 @@
+package com.anastasiat.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RevalidatingCacheInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockRestServiceServer server;
+    private RestClient restClient;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl("http://library")
+                .requestInterceptor(new RevalidatingCacheInterceptor(10, meterRegistry));
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+    }
+
+    @Test
+    void get_NotModified_ReplaysCachedBody() {
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"1-0\""));
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"1-0\""));
+
+        String first = restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+        String second = restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+
+        server.verify();
+        assertEquals("{\"id\":1}", first);
+        assertEquals(first, second);
+        assertEquals(1, meterRegistry.counter("library.http.client.revalidations", "outcome", "not_modified").count());
+    }
+
+    @Test
+    void get_Modified_ReplacesCachedBody() {
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andRespond(withSuccess("{\"id\":1,\"isBorrowed\":false}", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "\"1-0\""));
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andRespond(withSuccess("{\"id\":1,\"isBorrowed\":true}", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "\"1-1\""));
+        server.expect(requestTo("http://library/library-api/books/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1-1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+        restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+        String third = restClient.get().uri("/library-api/books/1").retrieve().body(String.class);
+
+        server.verify();
+        assertEquals("{\"id\":1,\"isBorrowed\":true}", third);
+    }
+}
@@ -0,0 +1,106 @@
+package com.anastasiat.config;
+
+import com.anastasiat.author.client.AuthorRestClient;
+import com.anastasiat.author.client.AuthorRestClientImpl;
+import com.anastasiat.reader.client.ReaderRestClient;
+import com.anastasiat.reader.client.ReaderRestClientImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringJUnitConfig({
+        CacheConfig.class,
+        CacheConfigTest.RestClientConfig.class,
+        AuthorRestClientImpl.class,
+        ReaderRestClientImpl.class
+})
+@TestPropertySource(properties = "config.cache.spec=maximumSize=100,expireAfterWrite=1m")
+class CacheConfigTest {
+
+    private static final String AUTHORS_JSON = "[{\"id\":1,\"firstName\":\"Имя\",\"lastName\":\"Фамилия\"}]";
+    private static final String READERS_JSON = "{\"content\":[{\"id\":1,\"firstName\":\"Имя\"}],\"nextCursor\":null}";
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Autowired
+    private AuthorRestClient authorRestClient;
+
+    @Autowired
+    private ReaderRestClient readerRestClient;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        server.reset();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findAllAuthors_CachedUntilAuthorCreated() {
+        server.expect(ExpectedCount.once(), requestTo("http://library/library-api/authors/all"))
+                .andRespond(withSuccess(AUTHORS_JSON, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":2}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://library/library-api/authors/all"))
+                .andRespond(withSuccess(AUTHORS_JSON, MediaType.APPLICATION_JSON));
+
+        authorRestClient.findAllAuthors();
+        authorRestClient.findAllAuthors();
+        authorRestClient.createAuthor("Имя", "Фамилия", null, LocalDate.of(1900, 1, 1));
+        authorRestClient.findAllAuthors();
+
+        server.verify();
+    }
+
+    @Test
+    void searchReaders_CachesOnlyUnfilteredFirstPage() {
+        server.expect(ExpectedCount.once(), requestTo("http://library/library-api/readers/search?q=&after=&size=20"))
+                .andRespond(withSuccess(READERS_JSON, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.twice(), requestTo("http://library/library-api/readers/search?q=%D0%98&after=&size=20"))
+                .andRespond(withSuccess(READERS_JSON, MediaType.APPLICATION_JSON));
+
+        readerRestClient.searchReaders("", null, 20);
+        readerRestClient.searchReaders("И", null, 20);
+        readerRestClient.searchReaders("", null, 20);
+        readerRestClient.searchReaders("И", null, 20);
+
+        server.verify();
+        assertEquals(1, readerRestClient.searchReaders("", null, 20).getContent().size());
+    }
+
+    @Configuration
+    static class RestClientConfig {
+
+        private final RestClient.Builder builder = RestClient.builder().baseUrl("http://library");
+
+        @Bean
+        MockRestServiceServer server() {
+            return MockRestServiceServer.bindTo(builder).ignoreExpectOrder(true).build();
+        }
+
+        @Bean
+        RestClient libraryRestClient(MockRestServiceServer server) {
+            return builder.build();
+        }
+    }
+}
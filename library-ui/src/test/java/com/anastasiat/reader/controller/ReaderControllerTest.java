@@ -1,7 +1,12 @@
 package com.anastasiat.reader.controller;
 
+import com.anastasiat.book.client.BookRestClient;
+import com.anastasiat.book.entity.BookCursorPageDTO;
+import com.anastasiat.book.entity.BookSummaryDTO;
+import com.anastasiat.client.BackendCalls;
 import com.anastasiat.exception.BadRequestException;
 import com.anastasiat.reader.client.ReaderRestClient;
+import com.anastasiat.reader.entity.ReaderCursorPageDTO;
 import com.anastasiat.reader.entity.ReaderDTO;
 import com.anastasiat.reader.entity.ReaderPageDTO;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,13 +14,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -30,6 +38,12 @@ class ReaderControllerTest {
     @Mock
     private ReaderRestClient readerRestClient;
 
+    @Mock
+    private BookRestClient bookRestClient;
+
+    @Spy
+    private BackendCalls backendCalls = new BackendCalls(Executors.newFixedThreadPool(2), Duration.ofSeconds(5));
+
     @InjectMocks
     private ReaderController readerController;
 
@@ -74,11 +88,12 @@ class ReaderControllerTest {
         readerPageDTO.setContent(Collections.singletonList(new ReaderDTO(1, "Тест", "Тестов", "Отчетсво", "test@example.com")));
         readerPageDTO.setTotalPages(1);
 
-        when(readerRestClient.findAllReaders(0, 10)).thenReturn(readerPageDTO);
+        when(readerRestClient.findAllReaders(0, 10, true)).thenReturn(readerPageDTO);
 
         mockMvc.perform(get("/library/readers/list")
                         .param("page", "0")
-                        .param("size", "10"))
+                        .param("size", "10")
+                        .param("withTotal", "true"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/readers/list"))
                 .andExpect(model().attributeExists("readers"))
@@ -86,16 +101,41 @@ class ReaderControllerTest {
                 .andExpect(model().attributeExists("totalPages"));
     }
 
+    @Test
+    void getReadersList_WithoutTotal() throws Exception {
+        ReaderPageDTO readerPageDTO = new ReaderPageDTO();
+        readerPageDTO.setContent(Collections.singletonList(new ReaderDTO(1, "Тест", "Тестов", "Отчетсво", "test@example.com")));
+        readerPageDTO.setLast(false);
+
+        when(readerRestClient.findAllReaders(1, 10, false)).thenReturn(readerPageDTO);
+
+        mockMvc.perform(get("/library/readers/list")
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("library/readers/list"))
+                .andExpect(model().attribute("currentPage", 1))
+                .andExpect(model().attribute("hasNext", true))
+                .andExpect(model().attributeDoesNotExist("totalPages"));
+    }
+
     @Test
     void getReader_Success() throws Exception {
         ReaderDTO readerDTO = new ReaderDTO(1, "Тест", "Тестов", "Отчетсво", "test@example.com");
 
+        BookCursorPageDTO bookPageDTO = new BookCursorPageDTO();
+        bookPageDTO.setContent(List.of(new BookSummaryDTO(5, "Евгений Онегин", "Пушкин Александр", true, null)));
+        bookPageDTO.setNextCursor("NQ");
+
         when(readerRestClient.findReader(1)).thenReturn(readerDTO);
+        when(bookRestClient.findReaderBooks(1, "MQ", 20)).thenReturn(bookPageDTO);
 
-        mockMvc.perform(get("/library/readers/{readerId}", 1))
+        mockMvc.perform(get("/library/readers/{readerId}", 1)
+                        .param("after", "MQ"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("library/readers/reader"))
-                .andExpect(model().attributeExists("reader"));
+                .andExpect(model().attributeExists("reader"))
+                .andExpect(model().attribute("books", bookPageDTO.getContent()))
+                .andExpect(model().attribute("nextCursor", "NQ"));
     }
 
     @Test
@@ -118,4 +158,21 @@ class ReaderControllerTest {
                 .andExpect(view().name("library/readers/reader"))
                 .andExpect(model().attributeExists("errors"));
     }
+
+    @Test
+    void searchReaders_ReturnsJsonPage() throws Exception {
+        ReaderCursorPageDTO readerPage = new ReaderCursorPageDTO();
+        readerPage.setContent(Collections.singletonList(new ReaderDTO(3, "Иван", "Иванов", null, "ivanov@mail.ru")));
+        readerPage.setNextCursor("Mw");
+
+        when(readerRestClient.searchReaders("иван", "MQ", 20)).thenReturn(readerPage);
+
+        mockMvc.perform(get("/library/readers/search")
+                        .param("q", "иван")
+                        .param("after", "MQ"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].lastName").value("Иванов"))
+                .andExpect(jsonPath("$.nextCursor").value("Mw"));
+    }
 }